@@ -0,0 +1,95 @@
+package com.example.benchmarks;
+
+import com.example.orderservice.dto.OrderDto;
+import com.example.orderservice.dto.OrderLineDto;
+import com.example.orderservice.dto.ProductDto;
+import com.example.orderservice.entity.OrderStatus;
+import com.example.paymentservice.dto.PaymentRequestDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson (de)serialization of the DTOs exchanged between the services.
+ * <p>
+ * Uses an {@link ObjectMapper} configured the way Spring Boot configures the services' one,
+ * so constructor-based binding of {@link OrderDto} goes through the same code path.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private OrderDto order;
+    private ProductDto product;
+    private PaymentRequestDto paymentRequest;
+    private byte[] orderJson;
+    private byte[] productJson;
+    private byte[] paymentRequestJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        order = new OrderDto(7L, 42L, 3L, 2, 1999, 3998, OrderStatus.CREATED, List.of(new OrderLineDto(3L, 2, 1999)));
+        product = new ProductDto(3L, "Mens Cotton Jacket",
+                "Great outerwear jackets for Spring/Autumn/Winter, suitable for many occasions.",
+                5599, "men's clothing", "https://fakestoreapi.com/img/71li-ujtlUL._AC_UX679_.jpg");
+        paymentRequest = new PaymentRequestDto();
+        paymentRequest.setOrderId(42L);
+        paymentRequest.setAmount(3998);
+        paymentRequest.setPaymentMethod("CREDIT_CARD");
+        paymentRequest.setCustomerId(7L);
+
+        orderJson = objectMapper.writeValueAsBytes(order);
+        productJson = objectMapper.writeValueAsBytes(product);
+        paymentRequestJson = objectMapper.writeValueAsBytes(paymentRequest);
+    }
+
+    @Benchmark
+    public byte[] writeOrder() throws IOException {
+        return objectMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public OrderDto readOrder() throws IOException {
+        return objectMapper.readValue(orderJson, OrderDto.class);
+    }
+
+    @Benchmark
+    public byte[] writeProduct() throws IOException {
+        return objectMapper.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public ProductDto readProduct() throws IOException {
+        return objectMapper.readValue(productJson, ProductDto.class);
+    }
+
+    @Benchmark
+    public byte[] writePaymentRequest() throws IOException {
+        return objectMapper.writeValueAsBytes(paymentRequest);
+    }
+
+    @Benchmark
+    public PaymentRequestDto readPaymentRequest() throws IOException {
+        return objectMapper.readValue(paymentRequestJson, PaymentRequestDto.class);
+    }
+}
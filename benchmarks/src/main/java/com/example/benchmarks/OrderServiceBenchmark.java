@@ -0,0 +1,115 @@
+package com.example.benchmarks;
+
+import com.example.orderservice.dto.OrderDto;
+import com.example.orderservice.dto.ProductDto;
+import com.example.orderservice.entity.Order;
+import com.example.orderservice.entity.OrderDetail;
+import com.example.orderservice.entity.OrderStatus;
+import com.example.orderservice.proxy.ProductServiceProxy;
+import com.example.orderservice.repository.OrderRepository;
+import com.example.orderservice.service.OrderService;
+import com.example.orderservice.service.PaymentCacheInvalidator;
+import com.example.orderservice.service.ProductCache;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths of {@link OrderService}: converting stored orders into {@link OrderDto}s.
+ * <p>
+ * The repository is an in-memory stub and order details carry the product price they were placed at,
+ * so reads make no product lookups and the numbers reflect the service's own work: repository
+ * access and DTO conversion, including the order lines. The stubbed {@link ProductServiceProxy} is only there to build the
+ * service.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    /**
+     * Number of stored orders returned by {@code findAll}.
+     */
+    @Param({"100", "1000"})
+    public int orders;
+
+    /**
+     * Number of distinct products the orders refer to.
+     */
+    @Param({"20"})
+    public int products;
+
+    private OrderService orderService;
+    private long orderId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<Order> stored = new ArrayList<>(orders);
+        for (long id = 1; id <= orders; id++) {
+            int quantity = (int) (id % 5) + 1;
+            Order order = new Order(id, id % 97, 1999L * quantity, OrderStatus.CREATED);
+            order.addDetail(new OrderDetail(id, id % products + 1, quantity, 1999));
+            stored.add(order);
+        }
+
+        OrderRepository orderRepository = Stubs.of(OrderRepository.class, Map.of(
+                "findAllWithDetails", args -> stored,
+                "findWithDetailsById", args -> Optional.of(stored.get((int) ((Long) args[0] - 1)))));
+        ProductServiceProxy productServiceProxy = new ProductServiceProxy() {
+            @Override
+            public ProductDto getProductById(Long id) {
+                return product(id);
+            }
+
+            @Override
+            public List<ProductDto> getProductsByIds(Collection<Long> ids) {
+                return ids.stream().map(OrderServiceBenchmark::product).toList();
+            }
+        };
+
+        ProductCache productCache = new ProductCache(productServiceProxy, new SimpleMeterRegistry(),
+                CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults(), 10_000, Duration.ofHours(1));
+        PaymentCacheInvalidator paymentCacheInvalidator = new PaymentCacheInvalidator(orderId -> {
+        });
+        orderService = new OrderService(orderRepository, productCache, paymentCacheInvalidator, null, Runnable::run, 50);
+    }
+
+    @Benchmark
+    public List<OrderDto> getAllOrders() {
+        return orderService.getAllOrders();
+    }
+
+    @Benchmark
+    public OrderDto getOrderById() {
+        orderId = orderId % orders + 1;
+        return orderService.getOrderById(orderId);
+    }
+
+    private static ProductDto product(Long id) {
+        return new ProductDto(id, "Product " + id, "Benchmark product", 1999, "benchmark", "");
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.benchmarks;
+
+import com.example.paymentservice.dto.OrderDto;
+import com.example.paymentservice.dto.PaymentRequestDto;
+import com.example.paymentservice.dto.PaymentResponseDto;
+import com.example.paymentservice.entity.Payment;
+import com.example.paymentservice.exception.PaymentProcessingException;
+import com.example.paymentservice.proxy.OrderServiceClient;
+import com.example.paymentservice.repository.OutboxEventRepository;
+import com.example.paymentservice.repository.PaymentRepository;
+import com.example.paymentservice.service.OrderCache;
+import com.example.paymentservice.service.PaymentService;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PaymentService#processPayment} with an in-memory order client and repository.
+ * <p>
+ * Measures the validation of a payment against its order, for an accepted payment and for a
+ * rejected one. The order is served from the order cache after the first invocation.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentServiceBenchmark {
+
+    private PaymentService paymentService;
+    private PaymentRequestDto validRequest;
+    private PaymentRequestDto wrongAmountRequest;
+
+    @Setup
+    public void setUp() {
+        OrderDto order = new OrderDto(7L, 42L, 3L, 2, 1999, 3998);
+        OrderServiceClient orderServiceClient = Stubs.of(OrderServiceClient.class, Map.of(
+                "getOrderById", args -> order));
+        PaymentRepository paymentRepository = Stubs.of(PaymentRepository.class, Map.of(
+                "findByOrderId", args -> Optional.empty(),
+                "save", args -> {
+                    Payment payment = (Payment) args[0];
+                    payment.setId(1L);
+                    return payment;
+                }));
+        OutboxEventRepository outboxEventRepository = Stubs.of(OutboxEventRepository.class, Map.of(
+                "save", args -> args[0]));
+        OrderCache orderCache = new OrderCache(new SimpleMeterRegistry(), 10_000, Duration.ofMinutes(5));
+        paymentService = new PaymentService(orderServiceClient, paymentRepository, outboxEventRepository, orderCache,
+                CircuitBreakerRegistry.ofDefaults(), BulkheadRegistry.ofDefaults());
+
+        validRequest = request(42L, 3998, 7L);
+        wrongAmountRequest = request(42L, 1000, 7L);
+    }
+
+    @Benchmark
+    public PaymentResponseDto processValidPayment() {
+        return paymentService.processPayment(validRequest);
+    }
+
+    @Benchmark
+    public Object rejectWrongAmount() {
+        try {
+            return paymentService.processPayment(wrongAmountRequest);
+        } catch (PaymentProcessingException e) {
+            return e;
+        }
+    }
+
+    private static PaymentRequestDto request(Long orderId, long amount, Long customerId) {
+        PaymentRequestDto request = new PaymentRequestDto();
+        request.setOrderId(orderId);
+        request.setAmount(amount);
+        request.setPaymentMethod("CREDIT_CARD");
+        request.setCustomerId(customerId);
+        return request;
+    }
+}
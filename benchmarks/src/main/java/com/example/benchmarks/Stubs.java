@@ -0,0 +1,43 @@
+package com.example.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * In-memory stand-ins for the repositories and clients the services depend on.
+ * <p>
+ * Only the methods a benchmark actually calls need an answer; any other call fails loudly so a
+ * benchmark never measures an accidental no-op.
+ * </p>
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    /**
+     * Creates a stub of an interface from a map of method name to answer.
+     *
+     * @param type The interface to stub, e.g. a Spring Data repository.
+     * @param answers Answers keyed by method name, receiving the call arguments.
+     * @return The stub.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T of(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + " stub";
+                };
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not stubbed");
+        });
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency histogram and error count for one endpoint.
+ * <p>
+ * Latencies are recorded in microseconds into an HdrHistogram, which keeps three significant
+ * digits over the whole range at a fixed memory cost, so high percentiles stay exact.
+ * </p>
+ */
+public class EndpointStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final AtomicLong errors = new AtomicLong();
+
+    /**
+     * Creates empty statistics.
+     *
+     * @param name Label of the endpoint, e.g. {@code POST /orders}.
+     */
+    public EndpointStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records a successful request.
+     *
+     * @param nanos Latency in nanoseconds.
+     */
+    public void success(long nanos) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), MAX_LATENCY_MICROS));
+    }
+
+    /**
+     * Records a failed request: a transport error, a timeout or a response with an error status.
+     */
+    public void error() {
+        errors.incrementAndGet();
+    }
+
+    /**
+     * Clears everything recorded so far, e.g. at the end of the warm-up.
+     */
+    public void reset() {
+        latencies.reset();
+        errors.set(0);
+    }
+
+    /**
+     * Prints a header matching {@link #print(double)}.
+     */
+    public static void printHeader() {
+        System.out.printf("%-24s %9s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+    }
+
+    /**
+     * Prints one line with throughput and latency percentiles.
+     *
+     * @param seconds Length of the measured run in seconds.
+     */
+    public void print(double seconds) {
+        System.out.printf("%-24s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                name, latencies.getTotalCount(), errors.get(), latencies.getTotalCount() / seconds,
+                millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(99)),
+                millis(latencies.getValueAtPercentile(99.9)), millis(latencies.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stand-in for the external product API (fakestoreapi.com) with a fixed catalog.
+ * <p>
+ * Products have IDs 1 to {@code size}. The catalog ({@code GET /products}) and single products
+ * ({@code GET /products/{id}}) are answered immediately, so the services under test are never
+ * limited by the stub.
+ * </p>
+ */
+public class FakeStoreStub implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final int size;
+
+    /**
+     * Starts the stub on a free local port.
+     *
+     * @param size Number of products in the catalog.
+     * @throws IOException if the server cannot be started.
+     */
+    public FakeStoreStub(int size) throws IOException {
+        this.size = size;
+        this.executor = Executors.newFixedThreadPool(4);
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/products", this::handle);
+        server.start();
+    }
+
+    /**
+     * Returns the base URL of the stub, to be used as {@code productservice.catalog.url}.
+     *
+     * @return The base URL.
+     */
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Returns the number of products in the catalog.
+     *
+     * @return The catalog size.
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        int status = 200;
+        String body;
+        if (path.equals("/products") || path.equals("/products/")) {
+            StringJoiner catalog = new StringJoiner(",", "[", "]");
+            for (int id = 1; id <= size; id++) {
+                catalog.add(product(id));
+            }
+            body = catalog.toString();
+        } else {
+            long id = parseId(path.substring(path.lastIndexOf('/') + 1));
+            if (id >= 1 && id <= size) {
+                body = product(id);
+            } else {
+                status = 404;
+                body = "";
+            }
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String product(long id) {
+        double price = 5 + (id * 7 % 100) + 0.99;
+        return "{\"id\":" + id + ",\"title\":\"Product " + id + "\",\"description\":\"Stub product\","
+                + "\"price\":" + price + ",\"category\":\"stub\",\"image\":\"\"}";
+    }
+
+    private static long parseId(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntFunction;
+
+/**
+ * Closed-loop HTTP load generator.
+ * <p>
+ * A fixed number of virtual users each send a request, wait for the response and immediately
+ * send the next one until the run ends. Latencies are kept in a fixed-size ring so memory
+ * use does not depend on the length of the run.
+ * </p>
+ */
+public class LoadDriver {
+
+    private static final int LATENCY_SAMPLES = 1 << 20;
+
+    private final HttpClient client;
+    private final ExecutorService executor;
+
+    /**
+     * Creates a driver with its own HTTP client.
+     */
+    public LoadDriver() {
+        this.executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * Runs a closed-loop GET load.
+     *
+     * @param concurrency Number of concurrent virtual users.
+     * @param duration How long to generate load.
+     * @param urls Function returning the URL for the n-th request.
+     * @return The result of the run.
+     */
+    public Result run(int concurrency, Duration duration, IntFunction<String> urls) {
+        AtomicLongArray latencies = new AtomicLongArray(LATENCY_SAMPLES);
+        AtomicInteger sequence = new AtomicInteger();
+        AtomicLong completed = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        CompletableFuture<?>[] users = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            users[i] = loop(deadline, urls, sequence, latencies, completed, errors);
+        }
+        CompletableFuture.allOf(users).join();
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        int samples = (int) Math.min(completed.get(), LATENCY_SAMPLES);
+        long[] sorted = new long[samples];
+        for (int i = 0; i < samples; i++) {
+            sorted[i] = latencies.get(i);
+        }
+        Arrays.sort(sorted);
+        return new Result(completed.get(), errors.get(), seconds, sorted);
+    }
+
+    /**
+     * Stops the driver's client threads.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private CompletableFuture<Void> loop(long deadline, IntFunction<String> urls, AtomicInteger sequence,
+                                         AtomicLongArray latencies, AtomicLong completed, AtomicLong errors) {
+        if (System.nanoTime() >= deadline) {
+            return CompletableFuture.completedFuture(null);
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(urls.apply(sequence.getAndIncrement())))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        long sent = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, failure) -> {
+                    if (failure != null || response.statusCode() >= 400) {
+                        errors.incrementAndGet();
+                    } else {
+                        long n = completed.getAndIncrement();
+                        latencies.set((int) (n & (LATENCY_SAMPLES - 1)), System.nanoTime() - sent);
+                    }
+                    return null;
+                })
+                .thenComposeAsync(ignored -> loop(deadline, urls, sequence, latencies, completed, errors), executor);
+    }
+
+    /**
+     * Outcome of a load run.
+     *
+     * @param completed Number of successful requests.
+     * @param errors Number of failed requests or responses with an error status.
+     * @param seconds Duration of the run in seconds.
+     * @param sortedLatencies Sampled latencies of successful requests in nanoseconds, ascending.
+     */
+    public record Result(long completed, long errors, double seconds, long[] sortedLatencies) {
+
+        /**
+         * Returns the throughput of successful requests.
+         *
+         * @return Requests per second.
+         */
+        public double throughput() {
+            return completed / seconds;
+        }
+
+        /**
+         * Returns a latency percentile.
+         *
+         * @param percentile Percentile between 0 and 100.
+         * @return The latency in milliseconds, or 0 if nothing completed.
+         */
+        public double percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, Math.min(index, sortedLatencies.length - 1))] / 1e6;
+        }
+    }
+}
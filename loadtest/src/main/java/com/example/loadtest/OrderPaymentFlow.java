@@ -0,0 +1,236 @@
+package com.example.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end load test of the order and payment flow.
+ * <p>
+ * productservice, orderservice and paymentservice are started from their jars and wired to each
+ * other, with a {@link FakeStoreStub} in place of fakestoreapi.com. Flows arrive at a fixed rate
+ * (open loop): each one creates an order with {@code POST /orders} and pays it with
+ * {@code POST /payments/process}. Order latency is measured from the flow's scheduled start, so
+ * time spent queued behind a slow system is counted instead of hidden. Throughput and
+ * p50/p99/p999 latency are reported per endpoint after a warm-up period.
+ * </p>
+ * <p>
+ * Configuration (system properties): {@code loadtest.java}, {@code loadtest.product-jar},
+ * {@code loadtest.order-jar}, {@code loadtest.payment-jar}, {@code loadtest.rate} (flows per
+ * second, default 50), {@code loadtest.duration} (seconds, default 60), {@code loadtest.warmup}
+ * (seconds, default 15), {@code loadtest.max-in-flight} (default 1000; arrivals beyond it are
+ * dropped and counted), {@code loadtest.products} (catalog size, default 20),
+ * {@code loadtest.profiles} (comma-separated Spring profiles for orderservice and paymentservice,
+ * each measured in turn on a fresh database, e.g. {@code default,durable}; default {@code default}).
+ * </p>
+ */
+public class OrderPaymentFlow {
+
+    private static final int PRODUCT_PORT = 18184;
+    private static final int ORDER_PORT = 18181;
+    private static final int PAYMENT_PORT = 18182;
+
+    private static final Pattern ORDER_ID = Pattern.compile("\"id\":(\\d+)");
+    private static final Pattern TOTAL_PRICE = Pattern.compile("\"totalPrice\":([0-9.E+-]+)");
+
+    private final HttpClient client;
+    private final String orderUrl;
+    private final String paymentUrl;
+    private final int products;
+    private final EndpointStats orders = new EndpointStats("POST /orders");
+    private final EndpointStats payments = new EndpointStats("POST /payments/process");
+    private final EndpointStats flows = new EndpointStats("order + payment");
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private OrderPaymentFlow(HttpClient client, String orderUrl, String paymentUrl, int products) {
+        this.client = client;
+        this.orderUrl = orderUrl;
+        this.paymentUrl = paymentUrl;
+        this.products = products;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String java = System.getProperty("loadtest.java", System.getProperty("java.home") + "/bin/java");
+        String productJar = System.getProperty("loadtest.product-jar", "../productservice/target/productservice-0.0.1-SNAPSHOT.jar");
+        String orderJar = System.getProperty("loadtest.order-jar", "../orderservice/target/orderservice-0.0.1-SNAPSHOT.jar");
+        String paymentJar = System.getProperty("loadtest.payment-jar", "../paymentservice/target/paymentservice-0.0.1-SNAPSHOT.jar");
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "50"));
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration", 60));
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmup", 15));
+        int maxInFlight = Integer.getInteger("loadtest.max-in-flight", 1000);
+        int catalogSize = Integer.getInteger("loadtest.products", 20);
+        String[] profiles = System.getProperty("loadtest.profiles", "default").split(",");
+
+        new File("target").mkdirs();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors()));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+
+        System.out.printf("%.1f flows/s for %ds after %ds warm-up, at most %d in flight%n",
+                rate, duration.toSeconds(), warmup.toSeconds(), maxInFlight);
+        try (FakeStoreStub catalog = new FakeStoreStub(catalogSize);
+             ServiceProcess product = new ServiceProcess(java, productJar, PRODUCT_PORT, new File("target/productservice.log"),
+                     List.of("--productservice.catalog.url=" + catalog.url()))) {
+            for (String profile : profiles) {
+                // Each profile starts from an empty database, so runs are comparable
+                Path dataDir = Path.of("target", "data-" + profile).toAbsolutePath();
+                deleteRecursively(dataDir);
+                List<String> profileArgs = List.of("--spring.profiles.active=" + profile);
+
+                try (ServiceProcess order = new ServiceProcess(java, orderJar, ORDER_PORT, new File("target/orderservice-" + profile + ".log"),
+                             concat(profileArgs, "--orderservice.product-service.url=" + product.url(),
+                                     "--orderservice.payment-service.url=http://localhost:" + PAYMENT_PORT,
+                                     "--orderservice.data-dir=" + dataDir));
+                     ServiceProcess payment = new ServiceProcess(java, paymentJar, PAYMENT_PORT, new File("target/paymentservice-" + profile + ".log"),
+                             concat(profileArgs, "--paymentservice.order-service.url=" + order.url(),
+                                     "--paymentservice.data-dir=" + dataDir))) {
+
+                    OrderPaymentFlow flow = new OrderPaymentFlow(client, order.url() + "/orders",
+                            payment.url() + "/payments/process", catalogSize);
+                    flow.run(rate, warmup, maxInFlight);
+                    flow.reset();
+                    flow.run(rate, duration, maxInFlight);
+                    System.out.printf("%nprofile: %s%n", profile);
+                    flow.report(duration.toNanos() / 1e9);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Starts flows at a fixed rate for the given time, then waits for the outstanding ones.
+     */
+    private void run(double rate, Duration duration, int maxInFlight) {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long n = 0; ; n++) {
+            long scheduled = start + n * interval;
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.get() >= maxInFlight) {
+                dropped.incrementAndGet();
+                continue;
+            }
+            inFlight.incrementAndGet();
+            start(scheduled).whenComplete((ignored, failure) -> inFlight.decrementAndGet());
+        }
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+
+    private CompletableFuture<Void> start(long scheduled) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long customerId = random.nextLong(1, 10_000);
+        String orderBody = "{\"customerId\":" + customerId + ",\"productId\":" + random.nextInt(1, products + 1)
+                + ",\"quantity\":" + random.nextInt(1, 5) + "}";
+
+        return post(orderUrl, orderBody).thenCompose(orderResponse -> {
+            long ordered = System.nanoTime();
+            if (!succeeded(orderResponse)) {
+                orders.error();
+                flows.error();
+                return CompletableFuture.completedFuture(null);
+            }
+            orders.success(ordered - scheduled);
+
+            Matcher id = ORDER_ID.matcher(orderResponse.body());
+            Matcher total = TOTAL_PRICE.matcher(orderResponse.body());
+            if (!id.find() || !total.find()) {
+                flows.error();
+                return CompletableFuture.completedFuture(null);
+            }
+            String paymentBody = "{\"orderId\":" + id.group(1) + ",\"amount\":" + total.group(1)
+                    + ",\"paymentMethod\":\"CREDIT_CARD\",\"customerId\":" + customerId + "}";
+            return post(paymentUrl, paymentBody).thenAccept(paymentResponse -> {
+                long paid = System.nanoTime();
+                if (succeeded(paymentResponse)) {
+                    payments.success(paid - ordered);
+                    flows.success(paid - scheduled);
+                } else {
+                    payments.error();
+                    flows.error();
+                }
+            });
+        });
+    }
+
+    private CompletableFuture<HttpResponse<String>> post(String url, String body) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .exceptionally(failure -> null);
+    }
+
+    private static boolean succeeded(HttpResponse<String> response) {
+        return response != null && response.statusCode() / 100 == 2;
+    }
+
+    private void reset() {
+        orders.reset();
+        payments.reset();
+        flows.reset();
+        dropped.set(0);
+    }
+
+    private void report(double seconds) {
+        EndpointStats.printHeader();
+        orders.print(seconds);
+        payments.print(seconds);
+        flows.print(seconds);
+        System.out.printf("dropped (in-flight limit reached): %d%n", dropped.get());
+    }
+
+    private static List<String> concat(List<String> arguments, String... more) {
+        List<String> all = new ArrayList<>(arguments);
+        all.addAll(List.of(more));
+        return all;
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
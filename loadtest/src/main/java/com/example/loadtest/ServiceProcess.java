@@ -0,0 +1,106 @@
+package com.example.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One of the Spring Boot services running as a child process.
+ * <p>
+ * The service is started from its executable jar with the actuator health and metrics
+ * endpoints exposed, so that its thread count and memory can be sampled while under load.
+ * </p>
+ */
+public class ServiceProcess implements AutoCloseable {
+
+    private static final Pattern METRIC_VALUE = Pattern.compile("\"statistic\":\"VALUE\",\"value\":([0-9.E+-]+)");
+
+    private final Process process;
+    private final String baseUrl;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    /**
+     * Starts the service and waits until its health endpoint reports UP.
+     *
+     * @param java Path to the java executable used to run the service.
+     * @param jar Path to the service's executable jar.
+     * @param port Port the service listens on.
+     * @param log File receiving the service's console output.
+     * @param arguments Additional Spring Boot arguments, e.g. {@code --spring.profiles.active=...}.
+     * @throws IOException if the process cannot be started.
+     * @throws InterruptedException if interrupted while waiting for the service.
+     */
+    public ServiceProcess(String java, String jar, int port, File log, List<String> arguments)
+            throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of(java, "-jar", jar,
+                "--server.port=" + port,
+                "--management.endpoints.web.exposure.include=health,metrics"));
+        command.addAll(arguments);
+        this.process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+        this.baseUrl = "http://localhost:" + port;
+        awaitHealthy(Duration.ofMinutes(2));
+    }
+
+    /**
+     * Returns the base URL of the service.
+     *
+     * @return The base URL.
+     */
+    public String url() {
+        return baseUrl;
+    }
+
+    /**
+     * Reads the current value of a gauge from the actuator metrics endpoint.
+     *
+     * @param metric Metric name, optionally followed by a tag query such as {@code ?tag=area:heap}.
+     * @return The value, or -1 if it cannot be read.
+     */
+    public double metric(String metric) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/" + metric)).build();
+            String body = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+            Matcher matcher = METRIC_VALUE.matcher(body);
+            return matcher.find() ? Double.parseDouble(matcher.group(1)) : -1;
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        process.waitFor();
+    }
+
+    private void awaitHealthy(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).build();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Service exited with code " + process.exitValue());
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(500);
+        }
+        process.destroy();
+        throw new IllegalStateException("Service did not become healthy within " + timeout);
+    }
+}
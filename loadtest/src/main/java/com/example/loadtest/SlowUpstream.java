@@ -0,0 +1,81 @@
+package com.example.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stand-in for the external product API (fakestoreapi.com).
+ * <p>
+ * The catalog ({@code GET /products}) is answered immediately and is empty, so every
+ * {@code GET /products/{id}} issued by productservice misses its catalog snapshot and is
+ * proxied here, where it is delayed by a fixed amount to simulate a slow upstream.
+ * </p>
+ */
+public class SlowUpstream implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Starts the stub on a free local port.
+     *
+     * @param delayMillis Delay applied to every single-product request.
+     * @throws IOException if the server cannot be started.
+     */
+    public SlowUpstream(long delayMillis) throws IOException {
+        this.executor = Executors.newCachedThreadPool();
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/products", exchange -> handle(exchange, delayMillis));
+        server.start();
+    }
+
+    /**
+     * Returns the base URL of the stub, to be used as {@code productservice.catalog.url}.
+     *
+     * @return The base URL.
+     */
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void handle(HttpExchange exchange, long delayMillis) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String body;
+        if (path.equals("/products") || path.equals("/products/")) {
+            body = "[]";
+        } else {
+            String id = path.substring(path.lastIndexOf('/') + 1);
+            sleep(delayMillis);
+            body = "{\"id\":" + id + ",\"title\":\"Product " + id + "\",\"description\":\"Stub product\","
+                    + "\"price\":19.99,\"category\":\"stub\",\"image\":\"\"}";
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Startup time and memory of a service in each of its launch modes.
+ * <p>
+ * The service (productservice by default) is started repeatedly in each mode: from the executable
+ * jar ({@code jar}), the same with lazy bean initialization ({@code lazy}), from the extracted jar
+ * of the {@code fast-start} build profile with its class-data sharing archive and the AOT-generated
+ * bean definitions ({@code cds-aot}), the same with lazy initialization ({@code cds-aot-lazy}), and
+ * as a GraalVM native executable built with the {@code native} profile ({@code native}). Modes
+ * whose build output is missing are skipped.
+ * </p>
+ * <p>
+ * Time to first request is measured from process launch until a real endpoint answers
+ * successfully (polled every 10 ms), so it includes the first call upstream when the endpoint needs
+ * one. The resident set size is read from {@code /proc/<pid>/status} right after that first
+ * response, so this scenario only runs on Linux. The median of the runs is reported.
+ * </p>
+ * <p>
+ * Configuration (system properties): {@code loadtest.java}, {@code loadtest.service} (default
+ * {@code productservice}; {@code paymentservice} is also supported), {@code loadtest.modes}
+ * (default {@code jar,lazy,cds-aot,cds-aot-lazy,native}), {@code loadtest.runs} (default 5).
+ * </p>
+ */
+public class StartupComparison {
+
+    private static final int SERVICE_PORT = 18084;
+
+    private static final List<String> LAZY = List.of("--spring.main.lazy-initialization=true");
+
+    /**
+     * Endpoint requested to detect that each supported service is serving traffic.
+     */
+    private static final Map<String, String> FIRST_REQUEST = Map.of(
+            "productservice", "/products/1",
+            "paymentservice", "/payments?status=COMPLETED");
+
+    public static void main(String[] args) throws Exception {
+        String java = System.getProperty("loadtest.java", System.getProperty("java.home") + "/bin/java");
+        String service = System.getProperty("loadtest.service", "productservice");
+        String[] modes = System.getProperty("loadtest.modes", "jar,lazy,cds-aot,cds-aot-lazy,native").split(",");
+        int runs = Integer.getInteger("loadtest.runs", 5);
+        String path = FIRST_REQUEST.get(service);
+        if (path == null) {
+            throw new IllegalArgumentException("Unknown service " + service + ", expected one of " + FIRST_REQUEST.keySet());
+        }
+
+        File target = new File("../" + service + "/target");
+        String jarName = service + "-0.0.1-SNAPSHOT.jar";
+        File jar = new File(target, jarName);
+        File fastStart = new File(target, "fast-start");
+        File nativeImage = new File(target, service);
+
+        System.out.printf("%s, %d runs per mode, first request GET %s%n", service, runs, path);
+        System.out.printf("%-14s %12s %12s %10s%n", "mode", "first req ms", "min ms", "RSS MiB");
+
+        try (FakeStoreStub upstream = new FakeStoreStub(1000)) {
+            List<String> common = List.of("--server.port=" + SERVICE_PORT,
+                    "--productservice.catalog.url=" + upstream.url());
+            for (String name : modes) {
+                String mode = name.trim();
+                List<String> command = new ArrayList<>();
+                File directory = null;
+                File required;
+                switch (mode) {
+                    case "jar", "lazy" -> {
+                        required = jar;
+                        command.addAll(List.of(java, "-jar", jar.getPath()));
+                    }
+                    case "cds-aot", "cds-aot-lazy" -> {
+                        required = new File(fastStart, "application.jsa");
+                        directory = fastStart;
+                        command.addAll(List.of(java, "-XX:SharedArchiveFile=application.jsa", "-Xlog:cds=error",
+                                "-Dspring.aot.enabled=true", "-jar", jarName));
+                    }
+                    case "native" -> {
+                        required = nativeImage;
+                        command.add(nativeImage.getAbsolutePath());
+                    }
+                    default -> throw new IllegalArgumentException("Unknown mode " + mode);
+                }
+                if (!required.exists()) {
+                    System.out.printf("%-14s skipped, %s not found%n", mode, required);
+                    continue;
+                }
+                command.addAll(common);
+                if (mode.endsWith("lazy")) {
+                    command.addAll(LAZY);
+                }
+                run(mode, command, directory, path, runs);
+            }
+        }
+    }
+
+    private static void run(String mode, List<String> command, File directory, String path, int runs)
+            throws IOException, InterruptedException {
+        long[] millis = new long[runs];
+        long[] rss = new long[runs];
+        File log = new File("target/startup-" + mode + ".log");
+        log.getParentFile().mkdirs();
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command).directory(directory)
+                    .redirectErrorStream(true).redirectOutput(log).start();
+            try {
+                awaitFirstResponse(process, "http://localhost:" + SERVICE_PORT + path, Duration.ofMinutes(2));
+                millis[i] = (System.nanoTime() - start) / 1_000_000;
+                rss[i] = residentKiB(process.pid());
+            } finally {
+                process.destroy();
+                process.waitFor();
+            }
+        }
+        Arrays.sort(millis);
+        Arrays.sort(rss);
+        System.out.printf("%-14s %12d %12d %10.1f%n", mode, millis[runs / 2], millis[0], rss[runs / 2] / 1024.0);
+    }
+
+    private static void awaitFirstResponse(Process process, String url, Duration timeout) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).build();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Service exited with code " + process.exitValue());
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Service did not answer " + url + " within " + timeout);
+    }
+
+    private static long residentKiB(long pid) throws IOException {
+        for (String line : Files.readAllLines(Path.of("/proc/" + pid + "/status"))) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("[^0-9]", ""));
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.loadtest;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAccumulator;
+
+/**
+ * Side-by-side comparison of a service running on platform threads, on virtual threads and reactively.
+ * <p>
+ * The service (productservice by default) is started once per mode against a {@link SlowUpstream}:
+ * with the default servlet configuration, with the {@code virtual-threads} profile and with the
+ * {@code reactive} profile (WebFlux on Netty with a non-blocking upstream client). Each run is
+ * driven with the same closed-loop load, and the throughput, latency percentiles, peak live thread
+ * count and peak heap usage are reported. The connection pools towards the upstream are sized to the
+ * concurrency so that they do not cap any mode. The virtual-thread mode requires the service to run
+ * on Java 21 or later; point {@code loadtest.java} at such a JDK or leave it out of the modes.
+ * </p>
+ * <p>
+ * Configuration (system properties): {@code loadtest.java}, {@code loadtest.jar},
+ * {@code loadtest.modes} (default {@code platform,virtual,reactive}),
+ * {@code loadtest.concurrency} (default 1000), {@code loadtest.duration} (seconds, default 30),
+ * {@code loadtest.upstream-delay} (milliseconds, default 200).
+ * </p>
+ */
+public class ThreadingModeComparison {
+
+    private static final int SERVICE_PORT = 18084;
+
+    private static final Map<String, List<String>> MODES = Map.of(
+            "platform", List.of(),
+            "virtual", List.of("--spring.profiles.active=virtual-threads"),
+            "reactive", List.of("--spring.profiles.active=reactive"));
+
+    public static void main(String[] args) throws Exception {
+        String java = System.getProperty("loadtest.java", System.getProperty("java.home") + "/bin/java");
+        String jar = System.getProperty("loadtest.jar", "../productservice/target/productservice-0.0.1-SNAPSHOT.jar");
+        int concurrency = Integer.getInteger("loadtest.concurrency", 1000);
+        Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.duration", 30));
+        long upstreamDelay = Long.getLong("loadtest.upstream-delay", 200L);
+        String[] modes = System.getProperty("loadtest.modes", "platform,virtual,reactive").split(",");
+
+        System.out.printf("%d concurrent users for %ds, upstream delay %dms, service %s%n",
+                concurrency, duration.toSeconds(), upstreamDelay, jar);
+        System.out.printf("%-10s %10s %9s %9s %9s %8s %9s %10s%n",
+                "mode", "req/s", "p50 ms", "p99 ms", "p999 ms", "errors", "threads", "heap MiB");
+
+        try (SlowUpstream upstream = new SlowUpstream(upstreamDelay)) {
+            for (String mode : modes) {
+                List<String> profile = MODES.get(mode.trim());
+                if (profile == null) {
+                    throw new IllegalArgumentException("Unknown mode " + mode + ", expected one of " + MODES.keySet());
+                }
+                run(mode.trim(), java, jar, profile, upstream, concurrency, duration);
+            }
+        }
+    }
+
+    private static void run(String mode, String java, String jar, List<String> profile, SlowUpstream upstream,
+                            int concurrency, Duration duration) throws Exception {
+        List<String> arguments = new ArrayList<>(profile);
+        arguments.add("--productservice.catalog.url=" + upstream.url());
+        arguments.add("--productservice.feign.max-connections=" + concurrency);
+        arguments.add("--productservice.catalog.max-connections=" + concurrency);
+        File log = new File("target/" + mode + ".log");
+        log.getParentFile().mkdirs();
+
+        LoadDriver driver = new LoadDriver();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        try (ServiceProcess service = new ServiceProcess(java, jar, SERVICE_PORT, log, arguments)) {
+            String base = service.url() + "/products/";
+            // Warm up class loading, JIT and connection pools before measuring
+            driver.run(Math.min(concurrency, 50), Duration.ofSeconds(5), n -> base + (n % 1000 + 1));
+
+            DoubleAccumulator threads = new DoubleAccumulator(Math::max, 0);
+            DoubleAccumulator heap = new DoubleAccumulator(Math::max, 0);
+            sampler.scheduleAtFixedRate(() -> {
+                threads.accumulate(service.metric("jvm.threads.live"));
+                heap.accumulate(service.metric("jvm.memory.used?tag=area:heap"));
+            }, 0, 500, TimeUnit.MILLISECONDS);
+
+            LoadDriver.Result result = driver.run(concurrency, duration, n -> base + (n % 1000 + 1));
+
+            System.out.printf("%-10s %10.0f %9.1f %9.1f %9.1f %8d %9.0f %10.1f%n",
+                    mode, result.throughput(), result.percentileMillis(50), result.percentileMillis(99),
+                    result.percentileMillis(99.9), result.errors(), threads.get(), heap.get() / (1024 * 1024));
+        } finally {
+            sampler.shutdownNow();
+            driver.shutdown();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.orderservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Configuration of the executor that processes order creation requests asynchronously.
+ * <p>
+ * The executor is bounded in the number of tasks it accepts. Once it is full new tasks are
+ * rejected instead of queued, which the controller reports as 429 Too Many Requests so that
+ * callers back off rather than piling up work.
+ * </p>
+ * <p>
+ * With platform threads it is a pool bounded both in threads and in queued tasks. When virtual
+ * threads are enabled ({@code spring.threads.virtual.enabled} on Java 21+), each order is created
+ * on its own virtual thread, so the blocking product lookup does not hold a pooled thread; the
+ * number of orders in progress is capped instead.
+ * </p>
+ * <p>
+ * Declaring an executor makes Spring Boot back off from creating its {@code applicationTaskExecutor},
+ * which Spring MVC uses for asynchronous requests such as the streamed {@code /orders/export}. Without it
+ * MVC would fall back to an unbounded {@link SimpleAsyncTaskExecutor}, so it is declared here as well,
+ * built the way Spring Boot builds it from the {@code spring.task.execution.*} properties.
+ * </p>
+ */
+@Configuration
+public class OrderExecutorConfig {
+
+    /**
+     * Creates the bounded thread pool used for asynchronous order creation on platform threads.
+     *
+     * @param corePoolSize Number of threads kept alive.
+     * @param maxPoolSize Maximum number of threads, used once the queue is full.
+     * @param queueCapacity Maximum number of tasks waiting for a thread.
+     * @return The configured executor.
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor orderExecutor(@Value("${orderservice.order-executor.core-pool-size:16}") int corePoolSize,
+                                                @Value("${orderservice.order-executor.max-pool-size:32}") int maxPoolSize,
+                                                @Value("${orderservice.order-executor.queue-capacity:500}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("order-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Creates the executor used for asynchronous order creation on virtual threads.
+     *
+     * @param concurrencyLimit Maximum number of orders being created at once; further tasks are rejected.
+     * @return The configured executor.
+     */
+    @Bean(name = "orderExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public AsyncTaskExecutor virtualThreadOrderExecutor(
+            @Value("${orderservice.order-executor.virtual-concurrency-limit:200}") int concurrencyLimit) {
+        RejectingTaskExecutor executor = new RejectingTaskExecutor(concurrencyLimit);
+        executor.setVirtualThreads(true);
+        executor.setThreadNamePrefix("order-");
+        executor.setTaskTerminationTimeout(30_000);
+        return executor;
+    }
+
+    /**
+     * Creates the executor Spring MVC uses for asynchronous requests, on platform threads.
+     *
+     * @param builder The builder configured by Spring Boot from {@code spring.task.execution.pool.*}.
+     * @return The configured executor.
+     */
+    @Lazy
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Creates the executor Spring MVC uses for asynchronous requests, on virtual threads.
+     *
+     * @param builder The builder configured by Spring Boot from {@code spring.task.execution.simple.*}.
+     * @return The configured executor.
+     */
+    @Lazy
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+            AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualThreadApplicationTaskExecutor(SimpleAsyncTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Starts a new thread per task, rejecting tasks instead of waiting while the limit of running tasks is reached.
+     * <p>
+     * {@link SimpleAsyncTaskExecutor#setConcurrencyLimit} would block the caller until a task finishes,
+     * which would hold up request threads instead of answering 429.
+     * </p>
+     */
+    static class RejectingTaskExecutor extends SimpleAsyncTaskExecutor {
+
+        private final Semaphore permits;
+        private final int concurrencyLimit;
+
+        RejectingTaskExecutor(int concurrencyLimit) {
+            this.permits = new Semaphore(concurrencyLimit);
+            this.concurrencyLimit = concurrencyLimit;
+        }
+
+        @Override
+        protected void doExecute(Runnable task) {
+            if (!permits.tryAcquire()) {
+                throw new TaskRejectedException("Order executor reached its limit of " + concurrencyLimit + " running tasks");
+            }
+            try {
+                super.doExecute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+    }
+}
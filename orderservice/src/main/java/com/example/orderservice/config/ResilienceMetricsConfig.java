@@ -0,0 +1,86 @@
+package com.example.orderservice.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.core.registry.EntryAddedEvent;
+import io.github.resilience4j.core.registry.EntryRemovedEvent;
+import io.github.resilience4j.core.registry.EntryReplacedEvent;
+import io.github.resilience4j.core.registry.RegistryEventConsumer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Metrics for the circuit breakers and bulkheads guarding calls to other services.
+ * <p>
+ * Resilience4j already publishes circuit breaker states, call outcomes and available bulkhead
+ * permits. This configuration adds counters for circuit breaker state transitions
+ * ({@code resilience4j.circuitbreaker.transitions}) and for calls rejected by a full bulkhead
+ * ({@code resilience4j.bulkhead.rejected.calls}).
+ * </p>
+ */
+@Configuration
+public class ResilienceMetricsConfig {
+
+    /**
+     * Counts state transitions of every circuit breaker, tagged with the source and target state.
+     *
+     * @param meterRegistry Registry the counters are published to.
+     * @return Consumer attaching the counters to circuit breakers as they are created.
+     */
+    @Bean
+    public RegistryEventConsumer<CircuitBreaker> circuitBreakerTransitionMetrics(MeterRegistry meterRegistry) {
+        return new RegistryEventConsumer<>() {
+            @Override
+            public void onEntryAddedEvent(EntryAddedEvent<CircuitBreaker> event) {
+                CircuitBreaker circuitBreaker = event.getAddedEntry();
+                circuitBreaker.getEventPublisher().onStateTransition(transition -> Counter
+                        .builder("resilience4j.circuitbreaker.transitions")
+                        .description("The number of state transitions of a circuit breaker")
+                        .tag("name", circuitBreaker.getName())
+                        .tag("from", transition.getStateTransition().getFromState().name())
+                        .tag("to", transition.getStateTransition().getToState().name())
+                        .register(meterRegistry)
+                        .increment());
+            }
+
+            @Override
+            public void onEntryRemovedEvent(EntryRemovedEvent<CircuitBreaker> event) {
+            }
+
+            @Override
+            public void onEntryReplacedEvent(EntryReplacedEvent<CircuitBreaker> event) {
+            }
+        };
+    }
+
+    /**
+     * Counts calls rejected because a bulkhead had no free permits.
+     *
+     * @param meterRegistry Registry the counters are published to.
+     * @return Consumer attaching the counters to bulkheads as they are created.
+     */
+    @Bean
+    public RegistryEventConsumer<Bulkhead> bulkheadRejectionMetrics(MeterRegistry meterRegistry) {
+        return new RegistryEventConsumer<>() {
+            @Override
+            public void onEntryAddedEvent(EntryAddedEvent<Bulkhead> event) {
+                Bulkhead bulkhead = event.getAddedEntry();
+                Counter rejected = Counter.builder("resilience4j.bulkhead.rejected.calls")
+                        .description("The number of calls rejected by a full bulkhead")
+                        .tag("name", bulkhead.getName())
+                        .register(meterRegistry);
+                bulkhead.getEventPublisher().onCallRejected(rejection -> rejected.increment());
+            }
+
+            @Override
+            public void onEntryRemovedEvent(EntryRemovedEvent<Bulkhead> event) {
+            }
+
+            @Override
+            public void onEntryReplacedEvent(EntryReplacedEvent<Bulkhead> event) {
+            }
+        };
+    }
+}
@@ -1,43 +1,92 @@
 package com.example.orderservice.controller;
 
+import com.example.orderservice.dto.OrderBatchResultDto;
 import com.example.orderservice.dto.OrderDto;
+import com.example.orderservice.dto.OrderPageDto;
+import com.example.orderservice.dto.OrderStatusUpdateDto;
 import com.example.orderservice.exception.ErrorResponse;
 import com.example.orderservice.exception.OrderNotFoundException;
+import com.example.orderservice.exception.ProductServiceUnavailableException;
 import com.example.orderservice.service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/orders")
 public class OrderController {
 
+    private static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    /**
+     * Orders change as they are paid, so clients may keep a copy but must revalidate it on every use.
+     */
+    private static final CacheControl ORDER_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     private final OrderService orderService;
+    private final ObjectWriter orderWriter;
 
     @Autowired
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, ObjectMapper objectMapper) {
         this.orderService = orderService;
+        this.orderWriter = objectMapper.writerFor(OrderDto.class);
     }
 
     /**
      * Handles the creation of a new order.
+     * <p>
+     * The order is created asynchronously on the order executor, releasing the request thread
+     * while the product lookup and the inserts are in progress.
+     * </p>
      *
      * @param orderDto Data Transfer Object for the order to be created.
-     * @return ResponseEntity containing the created OrderDto and HTTP status code 201 (Created) if successful,
-     *         or an ErrorResponse with HTTP status code 400 (Bad Request) if there is a runtime exception.
+     * @return Future of a ResponseEntity containing the created OrderDto and HTTP status code 201 (Created)
+     *         if successful, an ErrorResponse with HTTP status code 429 (Too Many Requests) if the order
+     *         executor is saturated, an ErrorResponse with HTTP status code 503 (Service Unavailable) if the
+     *         product service is unavailable, or an ErrorResponse with HTTP status code 400 (Bad Request) if there
+     *         is a runtime exception.
      */
     @PostMapping
-    public ResponseEntity<?> createOrder(@RequestBody OrderDto orderDto) {
-        try {
-            OrderDto createdOrder = orderService.createOrder(orderDto);
-            return new ResponseEntity<>(createdOrder, HttpStatus.CREATED);
-        } catch (RuntimeException e) {
-            ErrorResponse errorResponse = new ErrorResponse(HttpStatus.BAD_REQUEST.value(), e.getMessage());
+    public CompletableFuture<ResponseEntity<?>> createOrder(@RequestBody OrderDto orderDto) {
+        return orderService.createOrderAsync(orderDto)
+                .<ResponseEntity<?>>thenApply(createdOrder -> new ResponseEntity<>(createdOrder, HttpStatus.CREATED))
+                .exceptionally(this::createOrderError);
+    }
+
+    /**
+     * Handles the creation of a batch of orders.
+     *
+     * @param orderDtos Data Transfer Objects for the orders to be created.
+     * @return ResponseEntity containing one OrderBatchResultDto per submitted order and HTTP status code
+     *         200 (OK), or an ErrorResponse with HTTP status code 400 (Bad Request) if the batch is empty
+     *         or larger than {@link OrderService#MAX_BATCH_SIZE}.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> createOrders(@RequestBody List<OrderDto> orderDtos) {
+        if (orderDtos == null || orderDtos.isEmpty() || orderDtos.size() > OrderService.MAX_BATCH_SIZE) {
+            ErrorResponse errorResponse = new ErrorResponse(HttpStatus.BAD_REQUEST.value(),
+                    "A batch must contain between 1 and " + OrderService.MAX_BATCH_SIZE + " orders.");
             return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
         }
+        List<OrderBatchResultDto> results = orderService.createOrders(orderDtos);
+        return new ResponseEntity<>(results, HttpStatus.OK);
     }
 
     /**
@@ -57,18 +106,69 @@ public class OrderController {
         }
     }
 
+    /**
+     * Retrieves a page of orders using keyset pagination.
+     *
+     * @param after The ID of the last order of the previous page; omit to start from the first order.
+     * @param size The maximum number of orders to return (at most {@link OrderService#MAX_PAGE_SIZE}).
+     * @return ResponseEntity containing an OrderPageDto and HTTP status code 200 (OK). The page's
+     *         {@code nextCursor} is null once the last order has been returned.
+     */
+    @GetMapping(params = "size")
+    public ResponseEntity<OrderPageDto> getOrdersPage(@RequestParam(required = false) Long after,
+                                                      @RequestParam int size) {
+        return new ResponseEntity<>(orderService.getOrdersPage(after, size), HttpStatus.OK);
+    }
+
+    /**
+     * Exports all orders as newline-delimited JSON.
+     * <p>
+     * Orders are written to the response as they are read from the database,
+     * so the export does not hold the whole table in memory.
+     * </p>
+     *
+     * @return ResponseEntity streaming one OrderDto per line with HTTP status code 200 (OK).
+     */
+    @GetMapping(value = "/export", produces = APPLICATION_NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportOrders() {
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream);
+            orderService.exportOrders(order -> writeLine(out, order));
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(APPLICATION_NDJSON)).body(body);
+    }
+
     /**
      * Retrieves a specific order by its ID.
+     * <p>
+     * The response is tagged with the order's version. If the request's If-None-Match already lists
+     * that version, only the version is read and a 304 (Not Modified) is returned without loading the order.
+     * Otherwise the ETag is the version the returned order was read at, so an update committed between the
+     * check and the read cannot pair the new body with the old tag.
+     * </p>
      *
      * @param id The ID of the order to retrieve.
+     * @param webRequest The current request, checked for If-None-Match.
      * @return ResponseEntity containing the OrderDto and HTTP status code 200 (OK) if successful,
+     *         HTTP status code 304 (Not Modified) if the client's copy is current,
      *         or an ErrorResponse with HTTP status code 404 (Not Found) if the order is not found.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getOrderById(@PathVariable Long id) {
+    public ResponseEntity<?> getOrderById(@PathVariable Long id, ServletWebRequest webRequest) {
         try {
+            String eTag = eTag(orderService.getOrderVersion(id));
+            if (webRequest.checkNotModified(eTag)) {
+                // checkNotModified has already set the status and the ETag header
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(ORDER_CACHE_CONTROL).build();
+            }
             OrderDto order = orderService.getOrderById(id);
-            return new ResponseEntity<>(order, HttpStatus.OK);
+            String readETag = eTag(order.getVersion());
+            if (!readETag.equals(eTag)) {
+                // Updated since the check: replace the older tag checkNotModified has set
+                webRequest.getResponse().setHeader(HttpHeaders.ETAG, readETag);
+            }
+            return ResponseEntity.ok().eTag(readETag).cacheControl(ORDER_CACHE_CONTROL).body(order);
         } catch (OrderNotFoundException e) {
             ErrorResponse errorResponse = new ErrorResponse(HttpStatus.NOT_FOUND.value(), e.getMessage());
             return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
@@ -81,7 +181,8 @@ public class OrderController {
      * @param id The ID of the order to update.
      * @param orderDto Data Transfer Object with the updated order details.
      * @return ResponseEntity containing the updated OrderDto and HTTP status code 200 (OK) if successful,
-     *         or an ErrorResponse with HTTP status code 404 (Not Found) if the order is not found.
+     *         an ErrorResponse with HTTP status code 404 (Not Found) if the order is not found,
+     *         or 409 (Conflict) if the order has already been paid.
      */
     @PutMapping("/{id}")
     public ResponseEntity<?> updateOrder(@PathVariable Long id, @RequestBody OrderDto orderDto) {
@@ -94,12 +195,26 @@ public class OrderController {
         }
     }
 
+    /**
+     * Applies a batch of order status changes, as sent by the payment service once payments are processed.
+     *
+     * @param updates The status changes to apply.
+     * @return ResponseEntity with HTTP status code 204 (No Content). Unknown orders and disallowed
+     *         transitions are skipped.
+     */
+    @PutMapping("/status")
+    public ResponseEntity<Void> updateOrderStatuses(@RequestBody List<OrderStatusUpdateDto> updates) {
+        orderService.updateOrderStatuses(updates);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
     /**
      * Deletes an existing order by its ID.
      *
      * @param id The ID of the order to delete.
      * @return ResponseEntity with HTTP status code 204 (No Content) if successful,
-     *         or an ErrorResponse with HTTP status code 404 (Not Found) if the order is not found.
+     *         an ErrorResponse with HTTP status code 404 (Not Found) if the order is not found,
+     *         or 409 (Conflict) if the order has already been paid.
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteOrder(@PathVariable Long id) {
@@ -111,4 +226,55 @@ public class OrderController {
             return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
         }
     }
+
+    /**
+     * Maps a failed order creation to its error response.
+     *
+     * @param throwable The failure, possibly wrapped in a CompletionException.
+     * @return ResponseEntity with an ErrorResponse and HTTP status code 429 (Too Many Requests) if the
+     *         order executor rejected the request, 503 (Service Unavailable) if the product service
+     *         could not be called, or 400 (Bad Request) otherwise.
+     */
+    private ResponseEntity<?> createOrderError(Throwable throwable) {
+        Throwable cause = (throwable instanceof CompletionException && throwable.getCause() != null)
+                ? throwable.getCause() : throwable;
+        if (cause instanceof RejectedExecutionException) {
+            ErrorResponse errorResponse = new ErrorResponse(HttpStatus.TOO_MANY_REQUESTS.value(),
+                    "Too many orders in progress, please retry later.");
+            return new ResponseEntity<>(errorResponse, HttpStatus.TOO_MANY_REQUESTS);
+        }
+        HttpStatus status = (cause instanceof ProductServiceUnavailableException)
+                ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.BAD_REQUEST;
+        ErrorResponse errorResponse = new ErrorResponse(status.value(), cause.getMessage());
+        return new ResponseEntity<>(errorResponse, status);
+    }
+
+    /**
+     * Writes a single order as one line of newline-delimited JSON.
+     *
+     * @param out The stream to write to.
+     * @param order The order to serialize.
+     */
+    private void writeLine(OutputStream out, OrderDto order) {
+        try {
+            out.write(orderWriter.writeValueAsBytes(order));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the ETag of an order version.
+     * <p>
+     * The tag is weak because the response may be gzip-compressed, and Tomcat does not compress
+     * responses carrying a strong tag.
+     * </p>
+     *
+     * @param version The version of the order.
+     * @return The weak entity tag, including its quotes.
+     */
+    private static String eTag(long version) {
+        return "W/\"" + version + "\"";
+    }
 }
@@ -0,0 +1,30 @@
+package com.example.orderservice.dto;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) for the outcome of one order submitted through the batch endpoint.
+ */
+@Data
+public class OrderBatchResultDto {
+
+    private int index;        // Position of the order in the submitted batch
+    private boolean success;  // Whether the order was created
+    private OrderDto order;   // The created order, or null if it failed
+    private String message;   // Reason for the failure, or null if it succeeded
+
+    /**
+     * Constructor for creating an OrderBatchResultDto with specified fields.
+     *
+     * @param index Position of the order in the submitted batch.
+     * @param success Whether the order was created.
+     * @param order The created order, or null if it failed.
+     * @param message Reason for the failure, or null if it succeeded.
+     */
+    public OrderBatchResultDto(int index, boolean success, OrderDto order, String message) {
+        this.index = index;
+        this.success = success;
+        this.order = order;
+        this.message = message;
+    }
+}
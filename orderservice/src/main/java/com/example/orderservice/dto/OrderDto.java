@@ -1,7 +1,26 @@
 package com.example.orderservice.dto;
 
+import com.example.orderservice.entity.OrderStatus;
+import com.example.orderservice.money.Money;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Data;
 
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for an order.
+ * <p>
+ * An order is made of {@code lines}. A single-product order may instead be submitted with just
+ * {@code productId} and {@code quantity}; in responses these fields, together with
+ * {@code productPrice}, describe the only line of single-line orders. For multi-line orders
+ * {@code productId} is null, {@code productPrice} is 0 and {@code quantity} is the total number of units.
+ * </p>
+ * <p>
+ * Prices are held in cents and exchanged as decimal amounts (see {@link Money}).
+ * </p>
+ */
 @Data
 public class OrderDto {
 
@@ -9,8 +28,16 @@ public class OrderDto {
     private Long id;          // Unique identifier for the order
     private Long productId;   // ID of the product in the order
     private int quantity;     // Quantity of the product ordered
-    private double productPrice; // Price of a single unit of the product
-    private double totalPrice;   // Total price for the order (quantity * productPrice)
+    @JsonSerialize(using = Money.Serializer.class)
+    @JsonDeserialize(using = Money.Deserializer.class)
+    private long productPrice;   // Price of a single unit of the product, in cents
+    @JsonSerialize(using = Money.Serializer.class)
+    @JsonDeserialize(using = Money.Deserializer.class)
+    private long totalPrice;     // Total price for the order (sum of quantity * productPrice over its lines), in cents
+    private OrderStatus status;  // Lifecycle status of the order; ignored when creating or updating an order
+    private List<OrderLineDto> lines; // Lines of the order; when absent, productId and quantity form the only line
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;        // Version of the order this DTO was read from, changed by every update; ignored in requests
 
     /**
      * Constructor for creating an OrderDto with specified fields.
@@ -19,15 +46,20 @@ public class OrderDto {
      * @param id Unique identifier of the order.
      * @param productId ID of the product being ordered.
      * @param quantity Number of units of the product ordered.
-     * @param productPrice Price of one unit of the product.
-     * @param totalPrice Total cost of the order.
+     * @param productPrice Price of one unit of the product, in cents.
+     * @param totalPrice Total cost of the order, in cents.
+     * @param status Lifecycle status of the order.
+     * @param lines Lines of the order.
      */
-    public OrderDto(Long customerId, Long id, Long productId, int quantity, double productPrice, double totalPrice) {
+    public OrderDto(Long customerId, Long id, Long productId, int quantity, long productPrice, long totalPrice,
+                    OrderStatus status, List<OrderLineDto> lines) {
         this.customerId = customerId;
         this.id = id;
         this.productId = productId;
         this.quantity = quantity;
         this.productPrice = productPrice;
         this.totalPrice = totalPrice;
+        this.status = status;
+        this.lines = lines;
     }
 }
@@ -0,0 +1,32 @@
+package com.example.orderservice.dto;
+
+import com.example.orderservice.money.Money;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) for one line of an order: a product and the quantity ordered.
+ */
+@Data
+public class OrderLineDto {
+
+    private Long productId;      // ID of the product in the line
+    private int quantity;        // Quantity of the product ordered
+    @JsonSerialize(using = Money.Serializer.class)
+    @JsonDeserialize(using = Money.Deserializer.class)
+    private long productPrice;   // Price of a single unit when the order was placed, in cents; ignored when creating or updating an order
+
+    /**
+     * Constructor for creating an OrderLineDto with specified fields.
+     *
+     * @param productId ID of the product in the line.
+     * @param quantity Number of units of the product ordered.
+     * @param productPrice Price of one unit of the product, in cents.
+     */
+    public OrderLineDto(Long productId, int quantity, long productPrice) {
+        this.productId = productId;
+        this.quantity = quantity;
+        this.productPrice = productPrice;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.orderservice.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for a page of orders returned by keyset pagination.
+ */
+@Data
+public class OrderPageDto {
+
+    private List<OrderDto> orders; // Orders in this page, in ascending ID order
+    private Long nextCursor;       // Cursor to request the next page, or null if this is the last page
+
+    /**
+     * Constructor for creating an OrderPageDto with specified fields.
+     *
+     * @param orders Orders contained in this page.
+     * @param nextCursor ID of the last order in this page, to be passed as {@code after} for the next page,
+     *                   or null if there are no more orders.
+     */
+    public OrderPageDto(List<OrderDto> orders, Long nextCursor) {
+        this.orders = orders;
+        this.nextCursor = nextCursor;
+    }
+}
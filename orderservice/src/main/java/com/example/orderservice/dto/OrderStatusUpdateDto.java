@@ -0,0 +1,25 @@
+package com.example.orderservice.dto;
+
+import com.example.orderservice.entity.OrderStatus;
+import lombok.Data;
+
+/**
+ * Data Transfer Object for a status change of one order, as sent by the payment service.
+ */
+@Data
+public class OrderStatusUpdateDto {
+
+    private Long orderId;       // ID of the order to update
+    private OrderStatus status; // New status of the order
+
+    /**
+     * Constructor for creating an OrderStatusUpdateDto with specified fields.
+     *
+     * @param orderId ID of the order to update.
+     * @param status New status of the order.
+     */
+    public OrderStatusUpdateDto(Long orderId, OrderStatus status) {
+        this.orderId = orderId;
+        this.status = status;
+    }
+}
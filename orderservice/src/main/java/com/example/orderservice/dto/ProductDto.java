@@ -1,5 +1,8 @@
 package com.example.orderservice.dto;
 
+import com.example.orderservice.money.Money;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Data;
 
 /**
@@ -11,7 +14,9 @@ public class ProductDto {
     private Long id;           // Unique identifier for the product
     private String title;      // Title or name of the product
     private String description; // Description of the product
-    private Double price;      // Price of the product
+    @JsonSerialize(using = Money.Serializer.class)
+    @JsonDeserialize(using = Money.Deserializer.class)
+    private long price;        // Price of the product, in cents (a decimal amount in JSON)
     private String category;   // Category to which the product belongs
     private String image;      // URL or path to the product image
 
@@ -28,11 +33,11 @@ public class ProductDto {
      * @param id Unique identifier of the product.
      * @param title Title or name of the product.
      * @param description Description of the product.
-     * @param price Price of the product.
+     * @param price Price of the product, in cents.
      * @param category Category to which the product belongs.
      * @param image URL or path to the product image.
      */
-    public ProductDto(Long id, String title, String description, Double price, String category, String image) {
+    public ProductDto(Long id, String title, String description, long price, String category, String image) {
         this.id = id;
         this.title = title;
         this.description = description;
@@ -2,10 +2,24 @@ package com.example.orderservice.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Entity class representing an Order.
  * Maps to the "order" table in the database.
+ * <p>
+ * An order is an aggregate of its details, one per ordered product; details are saved and
+ * deleted together with the order.
+ * </p>
+ * <p>
+ * The version is incremented on every change to the order or its details; it guards concurrent
+ * updates and identifies the order's state in HTTP caching.
+ * </p>
  */
 @Data
 @Entity
@@ -13,17 +27,29 @@ import lombok.Data;
 public class Order {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq")
+    @SequenceGenerator(name = "order_seq", sequenceName = "order_seq", allocationSize = 50) // Pooled sequence, allows batched inserts
     private Long id; // Unique identifier for the order
 
     @Column(name = "customer_id")
     private Long customerId; // ID of the customer who placed the order
 
-    @Column(name = "product_id")
-    private Long productId; // ID of the product being ordered
+    @Column(name = "total_price_cents")
+    private long totalPrice; // Total price of the order, in cents (see Money)
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private OrderStatus status; // Lifecycle status of the order
 
-    private Integer quantity; // Quantity of the product ordered
-    private Double totalPrice; // Total price of the order
+    @Version
+    private Long version; // Incremented by Hibernate on every update of the order
+
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    @BatchSize(size = 100) // Lazily loaded details of up to 100 orders are fetched with one query
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private List<OrderDetail> details = new ArrayList<>(); // Lines of the order
 
     /**
      * Default constructor for the Order entity.
@@ -36,17 +62,23 @@ public class Order {
      *
      * @param id Unique identifier of the order.
      * @param customerId ID of the customer who placed the order.
-     * @param productId ID of the product being ordered.
-     * @param quantity Quantity of the product ordered.
-     * @param totalPrice Total price of the order.
+     * @param totalPrice Total price of the order, in cents.
+     * @param status Lifecycle status of the order.
      */
-    public Order(Long id, Long customerId, Long productId, Integer quantity, Double totalPrice) {
+    public Order(Long id, Long customerId, long totalPrice, OrderStatus status) {
         this.id = id;
         this.customerId = customerId;
-        this.productId = productId;
-        this.quantity = quantity;
         this.totalPrice = totalPrice;
+        this.status = status;
     }
 
-
+    /**
+     * Adds a detail to the order and links it back to the order.
+     *
+     * @param detail The detail to add.
+     */
+    public void addDetail(OrderDetail detail) {
+        detail.setOrder(this);
+        details.add(detail);
+    }
 }
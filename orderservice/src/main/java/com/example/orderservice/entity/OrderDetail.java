@@ -2,9 +2,12 @@ package com.example.orderservice.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 /**
  * Entity class representing details of an order.
+ * Each detail is one line of its {@link Order}.
  */
 @Data
 @Entity
@@ -12,18 +15,23 @@ import lombok.Data;
 public class OrderDetail {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // Auto-incremented primary key
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_detail_seq")
+    @SequenceGenerator(name = "order_detail_seq", sequenceName = "order_detail_seq", allocationSize = 50) // Pooled sequence, allows batched inserts
     private Long id;
 
-    @Column(name = "order_id") // Foreign key to the Order entity
-    private Long orderId;
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "order_id", nullable = false) // Foreign key to the Order entity
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Order order;
 
     @Column(name = "product_id") // Foreign key to the Product entity
     private Long productId;
 
     private Integer quantity; // Quantity of the product in the order
 
-    private Double price; // Price of the product at the time of the order
+    @Column(name = "price_cents")
+    private long price; // Price of the product at the time of the order, in cents (see Money)
 
     /**
      * Default constructor for OrderDetail.
@@ -33,16 +41,15 @@ public class OrderDetail {
 
     /**
      * Constructor for creating an OrderDetail with specified fields.
+     * The detail is linked to its order by {@link Order#addDetail(OrderDetail)}.
      *
      * @param id Unique identifier of the order detail.
-     * @param orderId Unique identifier of the associated order.
      * @param productId Unique identifier of the associated product.
      * @param quantity Quantity of the product in the order.
-     * @param price Price of the product at the time of the order.
+     * @param price Price of the product at the time of the order, in cents.
      */
-    public OrderDetail(Long id, Long orderId, Long productId, Integer quantity, Double price) {
+    public OrderDetail(Long id, Long productId, Integer quantity, long price) {
         this.id = id;
-        this.orderId = orderId;
         this.productId = productId;
         this.quantity = quantity;
         this.price = price;
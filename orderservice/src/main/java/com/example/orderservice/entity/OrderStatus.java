@@ -0,0 +1,25 @@
+package com.example.orderservice.entity;
+
+/**
+ * Lifecycle status of an {@link Order}.
+ * <p>
+ * An order is {@link #CREATED} when it is placed and becomes {@link #PAID} once the payment
+ * service has processed its payment.
+ * </p>
+ */
+public enum OrderStatus {
+
+    CREATED,
+    PAID;
+
+    /**
+     * Tells whether an order in this status may move to the given status. Moving to the current
+     * status is allowed, so that a repeated update is a no-op.
+     *
+     * @param next The requested status.
+     * @return true if the transition is allowed.
+     */
+    public boolean canTransitionTo(OrderStatus next) {
+        return next == this || (this == CREATED && next == PAID);
+    }
+}
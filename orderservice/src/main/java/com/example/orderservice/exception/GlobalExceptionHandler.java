@@ -2,6 +2,7 @@ package com.example.orderservice.exception;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseBody;
@@ -41,6 +42,51 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
     }
 
+    /**
+     * Handles ProductServiceUnavailableException and returns a 503 Service Unavailable response.
+     *
+     * @param e The ProductServiceUnavailableException thrown.
+     * @return A ResponseEntity containing the error response with 503 status.
+     */
+    @ExceptionHandler(ProductServiceUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ResponseBody
+    public ResponseEntity<ErrorResponse> handleProductServiceUnavailableException(ProductServiceUnavailableException e) {
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Handles ObjectOptimisticLockingFailureException, raised when an order was changed by another
+     * request while it was being updated, and returns a 409 Conflict response.
+     *
+     * @param e The ObjectOptimisticLockingFailureException thrown.
+     * @return A ResponseEntity containing the error response with 409 status.
+     */
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ResponseBody
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException e) {
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.CONFLICT.value(),
+                "The order was modified concurrently, please retry.");
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Handles OrderNotModifiableException, raised when a paid order is updated or deleted, and
+     * returns a 409 Conflict response.
+     *
+     * @param e The OrderNotModifiableException thrown.
+     * @return A ResponseEntity containing the error response with 409 status.
+     */
+    @ExceptionHandler(OrderNotModifiableException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ResponseBody
+    public ResponseEntity<ErrorResponse> handleOrderNotModifiableException(OrderNotModifiableException e) {
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.CONFLICT.value(), e.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     /**
      * Handles general RuntimeException and returns a 500 Internal Server Error response.
      *
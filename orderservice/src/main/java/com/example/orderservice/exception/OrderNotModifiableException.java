@@ -0,0 +1,17 @@
+package com.example.orderservice.exception;
+
+/**
+ * Custom exception thrown when an order can no longer be changed or deleted because it has left
+ * the {@link com.example.orderservice.entity.OrderStatus#CREATED} status, e.g. because it was paid.
+ */
+public class OrderNotModifiableException extends RuntimeException {
+
+    /**
+     * Constructs a new OrderNotModifiableException with the specified detail message.
+     *
+     * @param message The detail message which is saved for later retrieval by the {@link #getMessage()} method.
+     */
+    public OrderNotModifiableException(String message) {
+        super(message);
+    }
+}
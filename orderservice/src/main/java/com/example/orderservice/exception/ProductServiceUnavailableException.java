@@ -0,0 +1,17 @@
+package com.example.orderservice.exception;
+
+/**
+ * Custom exception thrown when the product service cannot be called because its circuit
+ * breaker is open or too many calls to it are already in progress.
+ */
+public class ProductServiceUnavailableException extends RuntimeException {
+
+    /**
+     * Constructs a new ProductServiceUnavailableException with the specified detail message.
+     *
+     * @param message The detail message which is saved for later retrieval by the {@link #getMessage()} method.
+     */
+    public ProductServiceUnavailableException(String message) {
+        super(message);
+    }
+}
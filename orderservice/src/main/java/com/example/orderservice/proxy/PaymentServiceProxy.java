@@ -0,0 +1,20 @@
+package com.example.orderservice.proxy;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+/**
+ * Feign client interface for interacting with the PaymentService.
+ */
+@FeignClient(name = "paymentservice", path = "/payments")
+public interface PaymentServiceProxy {
+
+    /**
+     * Evicts an order from the PaymentService's order cache.
+     *
+     * @param orderId The ID of the order that was updated or deleted.
+     */
+    @DeleteMapping("/order-cache/{orderId}")
+    void evictOrder(@PathVariable("orderId") Long orderId);
+}
@@ -4,11 +4,15 @@ import com.example.orderservice.dto.ProductDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Feign client interface for interacting with the ProductService.
  */
-@FeignClient(name = "productservice", url = "http://localhost:8084/products")
+@FeignClient(name = "productservice", path = "/products")
 public interface ProductServiceProxy {
 
     /**
@@ -19,4 +23,13 @@ public interface ProductServiceProxy {
      */
     @GetMapping("/{id}")
     ProductDto getProductById(@PathVariable("id") Long id);
+
+    /**
+     * Retrieves several products in a single call to the ProductService.
+     *
+     * @param ids The IDs of the products to retrieve.
+     * @return The list of {@link ProductDto} objects found; unknown IDs are omitted.
+     */
+    @GetMapping
+    List<ProductDto> getProductsByIds(@RequestParam("ids") Collection<Long> ids);
 }
@@ -1,9 +1,19 @@
 package com.example.orderservice.repository;
 
 import com.example.orderservice.entity.Order;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 /**
  * Repository interface for accessing {@link Order} entities.
  * <p>
@@ -13,6 +23,60 @@ import org.springframework.stereotype.Repository;
  */
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    // No additional methods are required as JpaRepository provides the necessary CRUD operations
-}
 
+    /**
+     * Retrieves all orders together with their details in a single query.
+     *
+     * @return All orders in ascending ID order, with their details loaded.
+     */
+    @Query("select o from Order o left join fetch o.details order by o.id")
+    List<Order> findAllWithDetails();
+
+    /**
+     * Retrieves an order together with its details in a single query.
+     *
+     * @param id The ID of the order.
+     * @return The order with its details loaded, or empty if not found.
+     */
+    @EntityGraph(attributePaths = "details")
+    Optional<Order> findWithDetailsById(Long id);
+
+    /**
+     * Retrieves the version of an order without loading it.
+     *
+     * @param id The ID of the order.
+     * @return The current version of the order, or empty if not found.
+     */
+    @Query("select o.version from Order o where o.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    /**
+     * Retrieves the next page of orders after the given cursor, ordered by ID.
+     * <p>
+     * Keyset pagination: the primary key index is used to seek directly to the cursor,
+     * so the cost of a page does not grow with its position in the table.
+     * </p>
+     *
+     * @param id The ID of the last order of the previous page (exclusive).
+     * @param limit The maximum number of orders to return.
+     * @return The orders with an ID greater than the cursor, in ascending ID order.
+     */
+    List<Order> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Streams all orders, with their details, in ascending ID order.
+     * <p>
+     * The result is backed by a database cursor and must be consumed inside a transaction
+     * and closed afterwards. Details are fetched by the same query, so each order is complete
+     * when it is handed over.
+     * </p>
+     *
+     * @return A stream over all orders.
+     */
+    @Query("select o from Order o left join fetch o.details order by o.id")
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Order> streamAllOrderedById();
+}
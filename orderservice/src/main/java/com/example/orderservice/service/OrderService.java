@@ -1,64 +1,167 @@
 package com.example.orderservice.service;
 
+import com.example.orderservice.dto.OrderBatchResultDto;
 import com.example.orderservice.dto.OrderDto;
+import com.example.orderservice.dto.OrderLineDto;
+import com.example.orderservice.dto.OrderPageDto;
+import com.example.orderservice.dto.OrderStatusUpdateDto;
 import com.example.orderservice.dto.ProductDto;
 import com.example.orderservice.entity.Order;
 import com.example.orderservice.entity.OrderDetail;
+import com.example.orderservice.entity.OrderStatus;
 import com.example.orderservice.exception.OrderNotFoundException;
+import com.example.orderservice.exception.OrderNotModifiableException;
 import com.example.orderservice.exception.ProductNotFoundException;
-import com.example.orderservice.repository.OrderDetailRepository;
+import com.example.orderservice.money.Money;
 import com.example.orderservice.repository.OrderRepository;
-import com.example.orderservice.proxy.ProductServiceProxy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Service class for managing orders.
  * <p>
  * This class provides methods to handle CRUD operations for orders,
  * including creating, retrieving, updating, and deleting orders.
- * It also manages order details and interacts with the product service.
+ * Each order is saved together with its details, one per line, and the prices of all
+ * lines are resolved from the product service with bulk calls.
  * </p>
  */
 @Service
 public class OrderService {
 
+    private static final Logger log = LoggerFactory.getLogger(OrderService.class);
+
+    /**
+     * Maximum number of product IDs resolved per bulk call to the product service,
+     * keeping the request URL within common server limits.
+     */
+    private static final int PRODUCT_BATCH_SIZE = 100;
+
+    /**
+     * Upper bound for the page size accepted by {@link #getOrdersPage(Long, int)}.
+     */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * Upper bound for the number of orders accepted by {@link #createOrders(List)}.
+     */
+    public static final int MAX_BATCH_SIZE = 5000;
+
     private final OrderRepository orderRepository;
-    private final OrderDetailRepository orderDetailRepository;
-    private final ProductServiceProxy productServiceProxy;
+    private final ProductCache productCache;
+    private final PaymentCacheInvalidator paymentCacheInvalidator;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor orderExecutor;
+    private final int insertChunkSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     /**
      * Constructor for OrderService.
      *
-     * @param orderRepository The repository for managing orders.
-     * @param orderDetailRepository The repository for managing order details.
-     * @param productServiceProxy Proxy for interacting with the product service.
+     * @param orderRepository The repository for managing orders and, through them, their details.
+     * @param productCache Cache in front of the product service.
+     * @param paymentCacheInvalidator Evicts changed orders from the payment service's order cache.
+     * @param transactionTemplate Template used to write orders outside of remote calls.
+     * @param orderExecutor Bounded executor running asynchronous order creation.
+     * @param insertChunkSize Number of orders of a batch saved per transaction, matching the JDBC batch size.
      */
     @Autowired
     public OrderService(OrderRepository orderRepository,
-                        OrderDetailRepository orderDetailRepository,
-                        ProductServiceProxy productServiceProxy) {
+                        ProductCache productCache,
+                        PaymentCacheInvalidator paymentCacheInvalidator,
+                        TransactionTemplate transactionTemplate,
+                        @Qualifier("orderExecutor") Executor orderExecutor,
+                        @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int insertChunkSize) {
         this.orderRepository = orderRepository;
-        this.orderDetailRepository = orderDetailRepository;
-        this.productServiceProxy = productServiceProxy;
+        this.productCache = productCache;
+        this.paymentCacheInvalidator = paymentCacheInvalidator;
+        this.transactionTemplate = transactionTemplate;
+        this.orderExecutor = orderExecutor;
+        this.insertChunkSize = Math.max(1, insertChunkSize);
     }
 
     /**
-     * Retrieves all orders.
+     * Retrieves all orders, loading their details in the same query.
      *
      * @return A list of OrderDto objects representing all orders.
      * @throws OrderNotFoundException if no orders are found.
      */
     public List<OrderDto> getAllOrders() {
-        List<Order> orders = orderRepository.findAll();
+        List<Order> orders = orderRepository.findAllWithDetails();
         if (orders.isEmpty()) {
             throw new OrderNotFoundException("No orders found.");
         }
-        return orders.stream().map(this::convertToDto).collect(Collectors.toList());
+        return orders.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Retrieves a page of orders using keyset pagination on the order ID.
+     * <p>
+     * The details of the page's orders are loaded with batched queries rather than one query per order.
+     * </p>
+     *
+     * @param afterId The ID of the last order already seen, or null to start from the beginning.
+     * @param size The maximum number of orders to return; clamped to [1, {@link #MAX_PAGE_SIZE}].
+     * @return An OrderPageDto with the orders and the cursor for the next page.
+     */
+    @Transactional(readOnly = true)
+    public OrderPageDto getOrdersPage(Long afterId, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long cursor = (afterId != null) ? afterId : 0L;
+
+        List<Order> orders = orderRepository.findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(pageSize));
+        List<OrderDto> dtos = orders.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+
+        Long nextCursor = (orders.size() == pageSize) ? orders.get(orders.size() - 1).getId() : null;
+        return new OrderPageDto(dtos, nextCursor);
+    }
+
+    /**
+     * Streams every order to the given consumer in ascending ID order.
+     * <p>
+     * Orders are read together with their details through a database cursor and detached from the
+     * persistence context once exported, so memory use stays bounded regardless of the size of the table.
+     * </p>
+     *
+     * @param consumer The consumer receiving each OrderDto.
+     */
+    @Transactional(readOnly = true)
+    public void exportOrders(Consumer<OrderDto> consumer) {
+        try (Stream<Order> orders = orderRepository.streamAllOrderedById()) {
+            orders.forEach(order -> {
+                consumer.accept(convertToDto(order));
+                entityManager.detach(order);
+            });
+        }
     }
 
     /**
@@ -69,132 +172,436 @@ public class OrderService {
      * @throws OrderNotFoundException if the order with the specified ID is not found.
      */
     public OrderDto getOrderById(Long id) {
-        Order order = orderRepository.findById(id)
+        Order order = orderRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + id));
         return convertToDto(order);
     }
 
+    /**
+     * Retrieves the version of an order, which changes whenever the order or its lines change.
+     * <p>
+     * Only the version column is read, so clients can revalidate a cached order without it being loaded.
+     * </p>
+     *
+     * @param id The ID of the order.
+     * @return The current version of the order.
+     * @throws OrderNotFoundException if the order with the specified ID is not found.
+     */
+    public long getOrderVersion(Long id) {
+        return orderRepository.findVersionById(id)
+                .orElseThrow(() -> new OrderNotFoundException("Order not found with id: " + id));
+    }
+
     /**
      * Creates a new order.
+     * <p>
+     * The products of all lines are resolved with a single bulk call, then the order and its
+     * details are inserted in one transaction, which is only opened once the products have been
+     * resolved so that no database connection is held during the remote call.
+     * </p>
+     * <p>
+     * The IDs are not allocated ahead, concurrently with the product lookup: with the pooled
+     * sequences of {@link Order} and {@link OrderDetail} (allocation size 50), Hibernate hands them
+     * out from memory and only reads the sequence once every 50 inserts, so there is no round-trip
+     * left to overlap with the remote call.
+     * </p>
      *
      * @param orderDto The data transfer object containing order details.
      * @return The created OrderDto object.
-     * @throws ProductNotFoundException if the product specified in the order is not found.
+     * @throws ProductNotFoundException if a product specified in the order is not found.
      */
     public OrderDto createOrder(OrderDto orderDto) {
-        ProductDto product = getProductByIdOrThrow(orderDto.getProductId());
-
-        double productPrice = product.getPrice();
-        double totalPrice = calculateTotalPrice(productPrice, orderDto.getQuantity());
+        List<OrderLineDto> lines = linesOf(orderDto);
+        Map<Long, ProductDto> products = getProductsByIds(lines.stream().map(OrderLineDto::getProductId));
+        Order order = buildOrder(orderDto, lines, products);
+        return convertToDto(transactionTemplate.execute(status -> orderRepository.save(order)));
+    }
 
-        Order order = new Order();
-        order.setProductId(orderDto.getProductId());
-        order.setCustomerId(orderDto.getCustomerId());
-        order.setQuantity(orderDto.getQuantity());
-        order.setTotalPrice(totalPrice);
+    /**
+     * Creates a new order without blocking the calling thread.
+     * <p>
+     * The product lookup and the inserts run on the bounded order executor. If the executor is
+     * full the returned future fails immediately with a {@link RejectedExecutionException},
+     * so callers can shed load instead of queueing without limit.
+     * </p>
+     *
+     * @param orderDto The data transfer object containing order details.
+     * @return A future completed with the created OrderDto, or completed exceptionally with
+     *         ProductNotFoundException if a product is not found.
+     */
+    public CompletableFuture<OrderDto> createOrderAsync(OrderDto orderDto) {
+        try {
+            return CompletableFuture.supplyAsync(() -> createOrder(orderDto), orderExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 
-        order = orderRepository.save(order);
+    /**
+     * Creates a batch of orders.
+     * <p>
+     * Each order is checked first: a missing order or line, a line without a product and a
+     * non-positive quantity are reported as failed. The prices of all products referenced by the
+     * remaining orders are then resolved in one pass before anything is written, and the orders
+     * are inserted in chunks of the JDBC batch size, one transaction per chunk. If a chunk fails to
+     * save, its orders are saved again one at a time, so that every result reports what happened
+     * to that order. Orders referencing an unknown product, or whose total overflows, are reported
+     * as failed without affecting the rest of the batch.
+     * </p>
+     *
+     * @param orderDtos The orders to create, at most {@link #MAX_BATCH_SIZE}.
+     * @return One result per submitted order, in submission order.
+     */
+    public List<OrderBatchResultDto> createOrders(List<OrderDto> orderDtos) {
+        OrderBatchResultDto[] results = new OrderBatchResultDto[orderDtos.size()];
+        List<List<OrderLineDto>> lines = new ArrayList<>(Collections.nCopies(orderDtos.size(), null));
+        for (int i = 0; i < orderDtos.size(); i++) {
+            String problem = validate(orderDtos.get(i));
+            if (problem != null) {
+                results[i] = new OrderBatchResultDto(i, false, null, problem);
+            } else {
+                lines.set(i, linesOf(orderDtos.get(i)));
+            }
+        }
+        Map<Long, ProductDto> products = getProductsByIds(lines.stream()
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .map(OrderLineDto::getProductId));
 
-        saveOrderDetail(order, productPrice);
+        List<Integer> indexes = new ArrayList<>(orderDtos.size());
+        List<Order> orders = new ArrayList<>(orderDtos.size());
+        for (int i = 0; i < orderDtos.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            try {
+                orders.add(buildOrder(orderDtos.get(i), lines.get(i), products));
+                indexes.add(i);
+            } catch (ProductNotFoundException e) {
+                results[i] = new OrderBatchResultDto(i, false, null, e.getMessage());
+            } catch (ArithmeticException e) {
+                results[i] = new OrderBatchResultDto(i, false, null, "The total price of the order is too large.");
+            }
+        }
 
-        return convertToDto(order);
+        for (int from = 0; from < orders.size(); from += insertChunkSize) {
+            int to = Math.min(from + insertChunkSize, orders.size());
+            List<Order> chunk = orders.subList(from, to);
+            try {
+                transactionTemplate.executeWithoutResult(status -> orderRepository.saveAll(chunk));
+                for (int i = from; i < to; i++) {
+                    int index = indexes.get(i);
+                    results[index] = new OrderBatchResultDto(index, true, convertToDto(orders.get(i)), null);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Saving orders {} to {} of a batch failed, saving them one at a time", indexes.get(from), indexes.get(to - 1), e);
+                for (int i = from; i < to; i++) {
+                    int index = indexes.get(i);
+                    results[index] = saveOne(index, orderDtos.get(index), lines.get(index), products);
+                }
+            }
+        }
+        return List.of(results);
     }
 
     /**
-     * Updates an existing order.
+     * Updates an existing order, replacing its lines, and evicts it from the payment service's order cache.
+     * <p>
+     * The products of the new lines are resolved before the transaction replacing the lines is opened.
+     * Only orders that are still {@link OrderStatus#CREATED} can be updated, so that the lines and
+     * total of a paid order keep matching its payment.
+     * </p>
      *
      * @param id The ID of the order to update.
      * @param orderDto The data transfer object containing updated order details.
      * @return The updated OrderDto object.
      * @throws OrderNotFoundException if the order with the specified ID is not found.
-     * @throws ProductNotFoundException if the product specified in the order is not found.
+     * @throws OrderNotModifiableException if the order is no longer in the CREATED status.
+     * @throws ProductNotFoundException if a product specified in the order is not found.
      */
     public OrderDto updateOrder(Long id, OrderDto orderDto) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new OrderNotFoundException("Order not found"));
-
-        ProductDto product = getProductByIdOrThrow(orderDto.getProductId());
+        if (!orderRepository.existsById(id)) {
+            throw new OrderNotFoundException("Order not found");
+        }
+        List<OrderLineDto> lines = linesOf(orderDto);
+        Map<Long, ProductDto> products = getProductsByIds(lines.stream().map(OrderLineDto::getProductId));
 
-        double productPrice = product.getPrice();
-        double totalPrice = calculateTotalPrice(productPrice, orderDto.getQuantity());
+        Order updated = transactionTemplate.execute(status -> {
+            Order order = orderRepository.findWithDetailsById(id)
+                    .orElseThrow(() -> new OrderNotFoundException("Order not found"));
+            requireModifiable(order);
+            // Changes to the details alone do not increment the order's version, so force it
+            entityManager.lock(order, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+            order.setCustomerId(orderDto.getCustomerId());
+            order.getDetails().clear();
+            addLines(order, lines, products);
+            return orderRepository.save(order);
+        });
+        paymentCacheInvalidator.orderChanged(id);
 
-        order.setProductId(orderDto.getProductId());
-        order.setCustomerId(orderDto.getCustomerId());
-        order.setQuantity(orderDto.getQuantity());
-        order.setTotalPrice(totalPrice);
+        // Converted after the commit, which is when the forced version increment is applied
+        return convertToDto(updated);
+    }
 
-        order = orderRepository.save(order);
+    /**
+     * Applies a batch of status changes in a single transaction.
+     * <p>
+     * Updates for unknown orders or for transitions the order's lifecycle does not allow are
+     * skipped and logged, so that one bad entry does not block the rest of the batch. Repeating an
+     * update is harmless, which lets the sender retry a batch after a failure.
+     * </p>
+     *
+     * @param updates The status changes to apply.
+     * @return The number of orders whose status was changed.
+     */
+    @Transactional
+    public int updateOrderStatuses(List<OrderStatusUpdateDto> updates) {
+        List<Long> ids = updates.stream()
+                .map(OrderStatusUpdateDto::getOrderId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        Map<Long, Order> orders = orderRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Order::getId, order -> order));
 
-        return convertToDto(order);
+        int changed = 0;
+        for (OrderStatusUpdateDto update : updates) {
+            Order order = orders.get(update.getOrderId());
+            if (order == null || update.getStatus() == null) {
+                log.warn("Skipping status update {}: unknown order or missing status", update);
+                continue;
+            }
+            OrderStatus current = statusOf(order);
+            if (!current.canTransitionTo(update.getStatus())) {
+                log.warn("Skipping status update {}: order is {}", update, current);
+                continue;
+            }
+            if (order.getStatus() != update.getStatus()) {
+                order.setStatus(update.getStatus());
+                changed++;
+            }
+        }
+        return changed;
     }
 
     /**
-     * Deletes an order by its ID.
+     * Deletes an order and its details by its ID and evicts it from the payment service's order cache.
+     * <p>
+     * Only orders that are still {@link OrderStatus#CREATED} can be deleted. The delete checks the
+     * order's version, so an order paid while it is being deleted is not deleted either.
+     * </p>
      *
      * @param id The ID of the order to delete.
      * @throws OrderNotFoundException if the order with the specified ID is not found.
+     * @throws OrderNotModifiableException if the order is no longer in the CREATED status.
      */
     public void deleteOrder(Long id) {
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new OrderNotFoundException("Order not found"));
-        orderRepository.delete(order);
+        transactionTemplate.executeWithoutResult(status -> {
+            Order order = orderRepository.findById(id)
+                    .orElseThrow(() -> new OrderNotFoundException("Order not found"));
+            requireModifiable(order);
+            orderRepository.delete(order);
+        });
+        paymentCacheInvalidator.orderChanged(id);
+    }
+
+    /**
+     * Returns the status of an order.
+     * <p>
+     * Orders stored before statuses were recorded have none and are treated as {@link OrderStatus#CREATED}.
+     * </p>
+     *
+     * @param order The order.
+     * @return The order's status, never null.
+     */
+    private static OrderStatus statusOf(Order order) {
+        return (order.getStatus() != null) ? order.getStatus() : OrderStatus.CREATED;
+    }
+
+    /**
+     * Checks that an order can still be updated or deleted.
+     *
+     * @param order The order.
+     * @throws OrderNotModifiableException if the order is no longer in the CREATED status.
+     */
+    private static void requireModifiable(Order order) {
+        OrderStatus status = statusOf(order);
+        if (status != OrderStatus.CREATED) {
+            throw new OrderNotModifiableException("Order " + order.getId() + " is " + status + " and can no longer be changed.");
+        }
     }
 
     /**
-     * Saves the details of an order.
+     * Checks the parts of a submitted order that do not need the product service.
      *
-     * @param order The order entity whose details are to be saved.
-     * @param productPrice The price of the product in the order.
+     * @param orderDto The data transfer object containing order details; may be null.
+     * @return The reason the order cannot be created, or null if it is valid.
      */
-    private void saveOrderDetail(Order order, double productPrice) {
-        OrderDetail orderDetail = new OrderDetail();
-        orderDetail.setOrderId(order.getId());
-        orderDetail.setProductId(order.getProductId());
-        orderDetail.setQuantity(order.getQuantity());
-        orderDetail.setPrice(productPrice);
+    private String validate(OrderDto orderDto) {
+        if (orderDto == null) {
+            return "The order is missing.";
+        }
+        for (OrderLineDto line : linesOf(orderDto)) {
+            if (line == null) {
+                return "An order line is missing.";
+            }
+            if (line.getProductId() == null) {
+                return "The product ID of an order line is missing.";
+            }
+            if (line.getQuantity() <= 0) {
+                return "The quantity of an order line must be positive.";
+            }
+        }
+        return null;
+    }
 
-        orderDetailRepository.save(orderDetail);
+    /**
+     * Saves one order of a batch in its own transaction, after the chunk it belonged to failed.
+     * <p>
+     * The order is built again, since the entities of the failed chunk may hold IDs assigned
+     * in the rolled back transaction.
+     * </p>
+     *
+     * @param index Position of the order in the submitted batch.
+     * @param orderDto The data transfer object containing order details.
+     * @param lines The lines of the order.
+     * @param products The resolved products, by ID.
+     * @return The result for the order.
+     */
+    private OrderBatchResultDto saveOne(int index, OrderDto orderDto, List<OrderLineDto> lines,
+                                        Map<Long, ProductDto> products) {
+        try {
+            Order order = buildOrder(orderDto, lines, products);
+            transactionTemplate.executeWithoutResult(status -> orderRepository.save(order));
+            return new OrderBatchResultDto(index, true, convertToDto(order), null);
+        } catch (RuntimeException e) {
+            log.warn("Saving order {} of a batch failed", index, e);
+            return new OrderBatchResultDto(index, false, null, "The order could not be saved.");
+        }
     }
 
     /**
-     * Converts an Order entity to an OrderDto.
+     * Returns the lines of a submitted order.
+     *
+     * @param orderDto The data transfer object containing order details.
+     * @return The order's lines, or a single line made of its productId and quantity if it has none.
+     */
+    private List<OrderLineDto> linesOf(OrderDto orderDto) {
+        if (orderDto.getLines() != null && !orderDto.getLines().isEmpty()) {
+            return orderDto.getLines();
+        }
+        return List.of(new OrderLineDto(orderDto.getProductId(), orderDto.getQuantity(), 0L));
+    }
+
+    /**
+     * Builds a new, not yet persisted, Order entity with its details.
+     *
+     * @param orderDto The data transfer object containing order details.
+     * @param lines The lines of the order.
+     * @param products The resolved products, by ID.
+     * @return The new Order entity.
+     * @throws ProductNotFoundException if the product of a line is not among the resolved products.
+     */
+    private Order buildOrder(OrderDto orderDto, List<OrderLineDto> lines, Map<Long, ProductDto> products) {
+        Order order = new Order();
+        order.setCustomerId(orderDto.getCustomerId());
+        order.setStatus(OrderStatus.CREATED);
+        addLines(order, lines, products);
+        return order;
+    }
+
+    /**
+     * Adds one detail per line to an order and sets the order's total, in a single pass over the lines.
+     * <p>
+     * Prices are in cents, so the total is exact: no rounding happens when lines are multiplied and summed.
+     * </p>
+     *
+     * @param order The order to add the details to.
+     * @param lines The lines to add.
+     * @param products The resolved products, by ID; each detail records its product's current price.
+     * @throws ProductNotFoundException if the product of a line is not among the resolved products.
+     */
+    private void addLines(Order order, List<OrderLineDto> lines, Map<Long, ProductDto> products) {
+        long totalPrice = 0;
+        for (OrderLineDto line : lines) {
+            ProductDto product = (line.getProductId() != null) ? products.get(line.getProductId()) : null;
+            if (product == null) {
+                throw new ProductNotFoundException("Product not found with id: " + line.getProductId());
+            }
+            order.addDetail(new OrderDetail(null, line.getProductId(), line.getQuantity(), product.getPrice()));
+            totalPrice = Money.plus(totalPrice, calculateTotalPrice(product.getPrice(), line.getQuantity()));
+        }
+        order.setTotalPrice(totalPrice);
+    }
+
+    /**
+     * Converts an Order entity, with its details, to an OrderDto.
+     * <p>
+     * Line prices are the ones stored with the order when it was placed, so reads never call
+     * the product service and keep returning the prices the customer was charged.
+     * </p>
      *
      * @param order The Order entity to convert.
      * @return An OrderDto object representing the order.
      */
     private OrderDto convertToDto(Order order) {
-        ProductDto product = productServiceProxy.getProductById(order.getProductId());
-        double productPrice = (product != null) ? product.getPrice() : 0.0;
-        return new OrderDto(
+        List<OrderLineDto> lines = new ArrayList<>(order.getDetails().size());
+        int quantity = 0;
+        for (OrderDetail detail : order.getDetails()) {
+            lines.add(new OrderLineDto(detail.getProductId(), detail.getQuantity(), detail.getPrice()));
+            quantity += detail.getQuantity();
+        }
+        OrderLineDto single = (lines.size() == 1) ? lines.get(0) : null;
+        OrderDto orderDto = new OrderDto(
                 order.getCustomerId(),
                 order.getId(),
-                order.getProductId(),
-                order.getQuantity(),
-                productPrice,
-                order.getTotalPrice()
+                (single != null) ? single.getProductId() : null,
+                quantity,
+                (single != null) ? single.getProductPrice() : 0L,
+                order.getTotalPrice(),
+                order.getStatus(),
+                lines
         );
+        orderDto.setVersion(order.getVersion());
+        return orderDto;
     }
 
     /**
-     * Retrieves a product by its ID or throws an exception if not found.
+     * Resolves products using bulk calls to the product service.
+     * <p>
+     * Distinct product IDs are collected and looked up in chunks of {@link #PRODUCT_BATCH_SIZE};
+     * products missing from the {@link ProductCache} are fetched with one call per chunk,
+     * so the number of remote calls depends on the number of distinct products rather than
+     * on the number of orders.
+     * </p>
      *
-     * @param productId The ID of the product to retrieve.
-     * @return The ProductDto object representing the product.
-     * @throws ProductNotFoundException if the product with the specified ID is not found.
+     * @param productIds The IDs of the products to resolve; may contain duplicates and nulls.
+     * @return A map of product ID to ProductDto; products that were not found are absent.
      */
-    private ProductDto getProductByIdOrThrow(Long productId) {
-        return Optional.ofNullable(productServiceProxy.getProductById(productId))
-                .orElseThrow(() -> new ProductNotFoundException("Product not found"));
+    private Map<Long, ProductDto> getProductsByIds(Stream<Long> productIds) {
+        List<Long> distinctIds = productIds
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+
+        Map<Long, ProductDto> products = new HashMap<>(distinctIds.size() * 2);
+        for (int from = 0; from < distinctIds.size(); from += PRODUCT_BATCH_SIZE) {
+            List<Long> chunk = new ArrayList<>(
+                    distinctIds.subList(from, Math.min(from + PRODUCT_BATCH_SIZE, distinctIds.size())));
+            products.putAll(productCache.getProducts(chunk));
+        }
+        return products;
     }
 
     /**
-     * Calculates the total price of an order.
+     * Calculates the total price of an order line.
      *
-     * @param productPrice The price of the product.
+     * @param productPrice The price of the product, in cents.
      * @param quantity The quantity of the product.
-     * @return The total price.
+     * @return The total price, in cents.
+     * @throws ArithmeticException if the total overflows.
      */
-    private double calculateTotalPrice(double productPrice, int quantity) {
-        return productPrice * quantity;
+    private long calculateTotalPrice(long productPrice, int quantity) {
+        return Money.times(productPrice, quantity);
     }
 }
@@ -0,0 +1,48 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.proxy.PaymentServiceProxy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells the payment service that an order changed, so that it stops using its cached copy.
+ * <p>
+ * Invalidation is best effort: if the payment service cannot be reached the failure is logged
+ * and the change itself still succeeds. The payment service's cache expires entries on its own,
+ * which bounds how long a missed invalidation can leave a stale order there. The cached copy is
+ * never used to validate a payment against an older order, though: payments either name the
+ * order version they pay, or are validated against a freshly read order.
+ * </p>
+ */
+@Component
+public class PaymentCacheInvalidator {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentCacheInvalidator.class);
+
+    private final PaymentServiceProxy paymentServiceProxy;
+
+    /**
+     * Constructor for PaymentCacheInvalidator.
+     *
+     * @param paymentServiceProxy Proxy for interacting with the payment service.
+     */
+    @Autowired
+    public PaymentCacheInvalidator(PaymentServiceProxy paymentServiceProxy) {
+        this.paymentServiceProxy = paymentServiceProxy;
+    }
+
+    /**
+     * Evicts an order from the payment service's order cache.
+     *
+     * @param orderId The ID of the order that was updated or deleted.
+     */
+    public void orderChanged(Long orderId) {
+        try {
+            paymentServiceProxy.evictOrder(orderId);
+        } catch (RuntimeException e) {
+            log.warn("Could not evict order {} from the payment service cache: {}", orderId, e.getMessage());
+        }
+    }
+}
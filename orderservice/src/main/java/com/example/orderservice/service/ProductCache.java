@@ -0,0 +1,149 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.dto.ProductDto;
+import com.example.orderservice.exception.ProductServiceUnavailableException;
+import com.example.orderservice.proxy.ProductServiceProxy;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache of products fetched from the product service.
+ * <p>
+ * Entries expire after a configurable time-to-live and the cache is bounded in size,
+ * evicting with Caffeine's W-TinyLFU policy. Concurrent misses for the same product ID
+ * are coalesced into a single remote call. Hit, miss and eviction counts are published
+ * to Micrometer under the cache name {@code products}.
+ * </p>
+ * <p>
+ * Remote calls made on a miss go through the {@code productservice} bulkhead, which caps the
+ * number of concurrent calls, and circuit breaker, which stops calling a failing or slow product
+ * service for a while. Calls refused by either fail fast with a
+ * {@link ProductServiceUnavailableException} instead of waiting on the product service.
+ * </p>
+ */
+@Component
+public class ProductCache {
+
+    /**
+     * Name of the circuit breaker and bulkhead guarding calls to the product service.
+     */
+    private static final String PRODUCT_SERVICE = "productservice";
+
+    private final LoadingCache<Long, ProductDto> cache;
+
+    /**
+     * Constructor for ProductCache.
+     *
+     * @param productServiceProxy Proxy for interacting with the product service.
+     * @param meterRegistry Registry the cache statistics are published to.
+     * @param circuitBreakerRegistry Registry providing the product service circuit breaker.
+     * @param bulkheadRegistry Registry providing the product service bulkhead.
+     * @param maximumSize Maximum number of products kept in the cache.
+     * @param ttl Time after which a cached product is fetched again.
+     */
+    @Autowired
+    public ProductCache(ProductServiceProxy productServiceProxy,
+                        MeterRegistry meterRegistry,
+                        CircuitBreakerRegistry circuitBreakerRegistry,
+                        BulkheadRegistry bulkheadRegistry,
+                        @Value("${orderservice.product-cache.maximum-size:10000}") long maximumSize,
+                        @Value("${orderservice.product-cache.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(new ProductLoader(productServiceProxy,
+                        circuitBreakerRegistry.circuitBreaker(PRODUCT_SERVICE),
+                        bulkheadRegistry.bulkhead(PRODUCT_SERVICE)));
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "products");
+    }
+
+    /**
+     * Retrieves a product, loading it from the product service on a miss.
+     *
+     * @param productId The ID of the product to retrieve.
+     * @return The ProductDto, or null if the product service returned no product.
+     */
+    public ProductDto getProduct(Long productId) {
+        return cache.get(productId);
+    }
+
+    /**
+     * Retrieves several products, loading all misses with a single bulk call.
+     *
+     * @param productIds The IDs of the products to retrieve.
+     * @return A map of product ID to ProductDto; products that were not found are absent.
+     */
+    public Map<Long, ProductDto> getProducts(Collection<Long> productIds) {
+        return cache.getAll(productIds);
+    }
+
+    /**
+     * Loads products from the product service on cache misses.
+     */
+    private static final class ProductLoader implements CacheLoader<Long, ProductDto> {
+
+        private final ProductServiceProxy productServiceProxy;
+        private final CircuitBreaker circuitBreaker;
+        private final Bulkhead bulkhead;
+
+        private ProductLoader(ProductServiceProxy productServiceProxy, CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+            this.productServiceProxy = productServiceProxy;
+            this.circuitBreaker = circuitBreaker;
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public ProductDto load(Long productId) {
+            return call(() -> productServiceProxy.getProductById(productId));
+        }
+
+        @Override
+        public Map<Long, ProductDto> loadAll(Set<? extends Long> productIds) {
+            List<ProductDto> found = call(() -> productServiceProxy.getProductsByIds(new ArrayList<>(productIds)));
+            Map<Long, ProductDto> products = new HashMap<>();
+            if (found != null) {
+                found.forEach(product -> products.put(product.getId(), product));
+            }
+            return products;
+        }
+
+        /**
+         * Runs a remote call inside the bulkhead and circuit breaker. Rejections by the bulkhead
+         * are not recorded by the circuit breaker, so a burst of load alone does not open it.
+         *
+         * @param remoteCall The call to the product service.
+         * @return The result of the call.
+         * @throws ProductServiceUnavailableException if the call was not permitted.
+         */
+        private <T> T call(Supplier<T> remoteCall) {
+            try {
+                return Bulkhead.decorateSupplier(bulkhead,
+                        CircuitBreaker.decorateSupplier(circuitBreaker, remoteCall)).get();
+            } catch (CallNotPermittedException | BulkheadFullException e) {
+                throw new ProductServiceUnavailableException("Product service is unavailable: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+-- Sequences with an increment matching the allocationSize of the entities (pooled ID generation)
+create sequence order_seq start with 1 increment by 50;
+create sequence order_detail_seq start with 1 increment by 50;
+
+create table "order" (
+    id          bigint not null,
+    customer_id bigint,
+    product_id  bigint,
+    quantity    integer,
+    total_price float(53),
+    status      varchar(16),
+    primary key (id)
+);
+
+create table order_detail (
+    id         bigint not null,
+    order_id   bigint,
+    product_id bigint,
+    quantity   integer,
+    price      float(53),
+    primary key (id)
+);
+
+-- Details are looked up by the order they belong to
+create index idx_order_detail_order_id on order_detail (order_id);
@@ -0,0 +1,6 @@
+-- Unit price of the product at order time, so that reads do not depend on the product service
+alter table "order" add column product_price float(53);
+
+-- Existing orders take the price recorded in their detail
+update "order" o
+   set product_price = (select max(d.price) from order_detail d where d.order_id = o.id);
@@ -0,0 +1,24 @@
+-- Orders become aggregates of their details: product, quantity and price now live only in order_detail
+
+-- Details left behind by orders deleted before details were removed with them
+delete from order_detail where order_id not in (select id from "order");
+
+-- Orders whose detail was never written (the baseline saved the order and its detail separately, without a
+-- transaction) get one made from the order's own columns, so that their product and quantity are not lost
+insert into order_detail (id, order_id, product_id, quantity, price)
+select next value for order_detail_seq, o.id, o.product_id, o.quantity, o.product_price
+  from "order" o
+ where not exists (select 1 from order_detail d where d.order_id = o.id);
+
+-- Updates used to change only the order row; bring each order's single detail in line first
+update order_detail d
+   set product_id = (select o.product_id from "order" o where o.id = d.order_id),
+       quantity   = (select o.quantity from "order" o where o.id = d.order_id),
+       price      = (select o.product_price from "order" o where o.id = d.order_id);
+
+alter table "order" drop column product_id;
+alter table "order" drop column quantity;
+alter table "order" drop column product_price;
+
+alter table order_detail alter column order_id set not null;
+alter table order_detail add constraint fk_order_detail_order foreign key (order_id) references "order" (id);
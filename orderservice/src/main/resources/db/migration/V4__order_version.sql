@@ -0,0 +1,2 @@
+-- Optimistic locking version of each order, also used as its HTTP entity tag
+alter table "order" add column version bigint default 0 not null;
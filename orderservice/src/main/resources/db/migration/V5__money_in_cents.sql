@@ -0,0 +1,10 @@
+-- Amounts are stored as a whole number of cents instead of floating point, rounded half away from zero
+alter table "order" add column total_price_cents bigint;
+update "order" set total_price_cents = coalesce(round(cast(total_price as decimal(19, 6)) * 100), 0);
+alter table "order" alter column total_price_cents set not null;
+alter table "order" drop column total_price;
+
+alter table order_detail add column price_cents bigint;
+update order_detail set price_cents = coalesce(round(cast(price as decimal(19, 6)) * 100), 0);
+alter table order_detail alter column price_cents set not null;
+alter table order_detail drop column price;
@@ -0,0 +1,82 @@
+package com.example.orderservice;
+
+import com.example.orderservice.dto.OrderDto;
+import com.example.orderservice.dto.ProductDto;
+import com.example.orderservice.proxy.PaymentServiceProxy;
+import com.example.orderservice.proxy.ProductServiceProxy;
+import com.example.orderservice.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import java.util.Collection;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Base class of the tests that run against the application context with the product and payment
+ * services mocked.
+ * <p>
+ * All subclasses share the mocks and properties declared here, and therefore one cached application
+ * context. Products with IDs up to 100 exist and cost their ID in currency units, except
+ * {@link #OVERFLOWING_PRODUCT_ID}, whose price overflows when tripled; larger IDs are unknown.
+ * The product cache is disabled (zero time-to-live) so that every product lookup reaches the proxy.
+ * The mocks and the repository spy are reset after each test.
+ * </p>
+ */
+@SpringBootTest(properties = "orderservice.product-cache.ttl=0s")
+@AutoConfigureMockMvc
+public abstract class OrderServiceTestSupport {
+
+    /**
+     * ID of the product whose price overflows the order total when ordered three times.
+     */
+    protected static final long OVERFLOWING_PRODUCT_ID = 99L;
+
+    @MockBean
+    protected ProductServiceProxy productServiceProxy;
+
+    @MockBean
+    protected PaymentServiceProxy paymentServiceProxy;
+
+    @SpyBean
+    protected OrderRepository orderRepository;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void stubProducts() {
+        when(productServiceProxy.getProductById(anyLong()))
+                .thenAnswer(invocation -> product(invocation.getArgument(0)));
+        when(productServiceProxy.getProductsByIds(anyCollection()))
+                .thenAnswer(invocation -> ((Collection<Long>) invocation.getArgument(0)).stream()
+                        .filter(id -> id <= 100)
+                        .map(OrderServiceTestSupport::product)
+                        .toList());
+    }
+
+    /**
+     * Creates a single-line order of customer 1.
+     *
+     * @param productId The ID of the product ordered.
+     * @param quantity The quantity ordered.
+     * @return The order, without prices.
+     */
+    protected static OrderDto order(Long productId, int quantity) {
+        return new OrderDto(1L, null, productId, quantity, 0, 0, null, null);
+    }
+
+    /**
+     * Creates a test product.
+     *
+     * @param id The ID of the product.
+     * @return The product, priced at its ID in currency units.
+     */
+    protected static ProductDto product(Long id) {
+        long price = (id == OVERFLOWING_PRODUCT_ID) ? Long.MAX_VALUE / 2 : id * 100;
+        return new ProductDto(id, "Product " + id, "Test product", price, "test", "");
+    }
+}
@@ -1,13 +1,35 @@
 package com.example.orderservice;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 @SpringBootTest
 class OrderserviceApplicationTests {
 
+	@Autowired
+	@Qualifier("applicationTaskExecutor")
+	private ThreadPoolTaskExecutor applicationTaskExecutor;
+
+	@Autowired
+	private RequestMappingHandlerAdapter requestMappingHandlerAdapter;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void mvcAsyncRequestsUseBoundedApplicationTaskExecutor() {
+		assertSame(applicationTaskExecutor, ReflectionTestUtils.getField(requestMappingHandlerAdapter, "taskExecutor"));
+		assertEquals(32, applicationTaskExecutor.getMaxPoolSize());
+		assertEquals(500, applicationTaskExecutor.getQueueCapacity());
+	}
+
 }
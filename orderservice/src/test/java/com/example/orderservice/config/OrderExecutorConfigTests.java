@@ -0,0 +1,57 @@
+package com.example.orderservice.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the backpressure of the executor used for order creation on virtual threads.
+ */
+class OrderExecutorConfigTests {
+
+    @Test
+    void rejectsTasksBeyondConcurrencyLimitUntilOneFinishes() throws Exception {
+        OrderExecutorConfig.RejectingTaskExecutor executor = new OrderExecutorConfig.RejectingTaskExecutor(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> running = CompletableFuture.runAsync(() -> await(release), executor);
+
+        assertThrows(TaskRejectedException.class, () -> executor.execute(() -> { }));
+
+        release.countDown();
+        running.get(10, TimeUnit.SECONDS);
+        assertEquals("done", submitOnceFree(executor).get(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Submits a task, retrying while the executor is still full: the future of the previous task
+     * completes inside it, just before its permit is released.
+     */
+    private static CompletableFuture<String> submitOnceFree(OrderExecutorConfig.RejectingTaskExecutor executor)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (true) {
+            try {
+                return CompletableFuture.supplyAsync(() -> "done", executor);
+            } catch (TaskRejectedException e) {
+                if (System.nanoTime() > deadline) {
+                    throw e;
+                }
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
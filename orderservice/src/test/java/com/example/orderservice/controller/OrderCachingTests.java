@@ -0,0 +1,95 @@
+package com.example.orderservice.controller;
+
+import com.example.orderservice.OrderServiceTestSupport;
+import com.example.orderservice.dto.OrderDto;
+import com.example.orderservice.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.doReturn;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for the conditional reads of {@code GET /orders/{id}}.
+ */
+class OrderCachingTests extends OrderServiceTestSupport {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void currentCopyIsNotModifiedUntilOrderIsUpdated() throws Exception {
+        Long id = orderService.createOrder(new OrderDto(1L, null, 1L, 2, 0, 0, null, null)).getId();
+
+        String eTag = mockMvc.perform(get("/orders/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalPrice").value(2.00))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+
+        mockMvc.perform(get("/orders/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andExpect(content().string(""));
+
+        String updatedVersion = mockMvc.perform(put("/orders/{id}", id).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerId\":1,\"productId\":2,\"quantity\":3,\"version\":42}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().replaceAll(".*\"version\":(\\d+).*", "$1");
+
+        String updatedETag = mockMvc.perform(get("/orders/{id}", id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalPrice").value(6.00))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, updatedETag);
+        assertEquals("W/\"" + updatedVersion + "\"", updatedETag);
+
+        mockMvc.perform(get("/orders/{id}", id).header(HttpHeaders.IF_NONE_MATCH, updatedETag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void bodyIsTaggedWithTheVersionItWasReadAt() throws Exception {
+        Long id = orderService.createOrder(order(1L, 1)).getId();
+        OrderDto updated = orderService.updateOrder(id, order(2L, 1));
+        // The version check runs before the update above, the read after it
+        doReturn(Optional.of(0L)).when(orderRepository).findVersionById(id);
+
+        MockHttpServletResponse response = mockMvc.perform(get("/orders/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productId").value(2))
+                .andReturn().getResponse();
+
+        assertEquals(List.of("W/\"" + updated.getVersion() + "\""), response.getHeaders(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void eTagIsSentOnce() throws Exception {
+        Long id = orderService.createOrder(new OrderDto(1L, null, 1L, 1, 0, 0, null, null)).getId();
+
+        MockHttpServletResponse response = mockMvc.perform(get("/orders/{id}", id)).andReturn().getResponse();
+        assertEquals(1, response.getHeaders(HttpHeaders.ETAG).size());
+        assertEquals(1, mockMvc.perform(get("/orders/{id}", id).header(HttpHeaders.IF_NONE_MATCH, response.getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified())
+                .andReturn().getResponse().getHeaders(HttpHeaders.ETAG).size());
+    }
+}
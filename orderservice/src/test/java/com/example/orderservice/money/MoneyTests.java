@@ -0,0 +1,58 @@
+package com.example.orderservice.money;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for the parsing, rounding and formatting of {@link Money} amounts.
+ */
+class MoneyTests {
+
+    @Test
+    void parseRoundsHalfAwayFromZero() {
+        assertEquals(3998, Money.parse("39.98"));
+        assertEquals(3998, Money.parse("39.980000000000004"));
+        assertEquals(3998, Money.parse("39.97999999999999"));
+        assertEquals(1000, Money.parse("10"));
+        assertEquals(1050, Money.parse("10.5"));
+        assertEquals(1, Money.parse("0.005"));
+        assertEquals(-1, Money.parse("-0.005"));
+        assertEquals(0, Money.parse("0.004"));
+        assertEquals(123400, Money.parse("1.234E3"));
+        assertEquals(12345678901234568L, Money.parse("123456789012345.675"));
+        assertThrows(NumberFormatException.class, () -> Money.parse("12a"));
+        assertThrows(ArithmeticException.class, () -> Money.parse("1e30"));
+    }
+
+    @Test
+    void formatWritesTwoDecimals() {
+        assertEquals("39.98", Money.toString(3998));
+        assertEquals("0.05", Money.toString(5));
+        assertEquals("-0.05", Money.toString(-5));
+        assertEquals("10.00", Money.toString(1000));
+        assertEquals("-92233720368547758.08", Money.toString(Long.MIN_VALUE));
+        assertEquals(Long.MAX_VALUE, Money.parse(Money.toString(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void jsonRoundTripKeepsCents() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+
+        Amount amount = mapper.readValue("{\"cents\":39.980000000000004}", Amount.class);
+
+        assertEquals(3998, amount.cents);
+        assertEquals("{\"cents\":39.98}", mapper.writeValueAsString(amount));
+        assertEquals(1999, mapper.readValue("{\"cents\":\"19.99\"}", Amount.class).cents);
+    }
+
+    static class Amount {
+        @JsonSerialize(using = Money.Serializer.class)
+        @JsonDeserialize(using = Money.Deserializer.class)
+        public long cents;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.OrderServiceTestSupport;
+import com.example.orderservice.dto.OrderDto;
+import com.example.orderservice.dto.OrderStatusUpdateDto;
+import com.example.orderservice.entity.Order;
+import com.example.orderservice.entity.OrderDetail;
+import com.example.orderservice.entity.OrderStatus;
+import com.example.orderservice.exception.OrderNotModifiableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that orders can only be changed while they are {@link OrderStatus#CREATED}.
+ */
+class OrderLifecycleTests extends OrderServiceTestSupport {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    void paidOrderCannotBeUpdatedOrDeleted() {
+        OrderDto created = orderService.createOrder(order(1L, 2));
+        orderService.updateOrderStatuses(List.of(new OrderStatusUpdateDto(created.getId(), OrderStatus.PAID)));
+
+        assertThrows(OrderNotModifiableException.class, () -> orderService.updateOrder(created.getId(), order(2L, 5)));
+        assertThrows(OrderNotModifiableException.class, () -> orderService.deleteOrder(created.getId()));
+
+        OrderDto read = orderService.getOrderById(created.getId());
+        assertEquals(200, read.getTotalPrice());
+        assertEquals(OrderStatus.PAID, read.getStatus());
+    }
+
+    @Test
+    void orderWithoutStatusIsTreatedAsCreated() {
+        Order legacy = new Order(null, 1L, 300, null);
+        legacy.addDetail(new OrderDetail(null, 3L, 1, 300));
+        Long id = orderRepository.save(legacy).getId();
+
+        assertEquals(1, orderService.updateOrderStatuses(List.of(new OrderStatusUpdateDto(id, OrderStatus.PAID))));
+        assertEquals(OrderStatus.PAID, orderService.getOrderById(id).getStatus());
+
+        Order another = new Order(null, 1L, 300, null);
+        another.addDetail(new OrderDetail(null, 3L, 1, 300));
+        Long deletable = orderRepository.save(another).getId();
+        orderService.deleteOrder(deletable);
+        assertTrue(orderRepository.findById(deletable).isEmpty());
+    }
+}
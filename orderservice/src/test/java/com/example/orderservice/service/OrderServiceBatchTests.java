@@ -0,0 +1,77 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.OrderServiceTestSupport;
+import com.example.orderservice.dto.OrderBatchResultDto;
+import com.example.orderservice.dto.OrderDto;
+import com.example.orderservice.dto.OrderLineDto;
+import com.example.orderservice.entity.Order;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the per-order results of {@link OrderService#createOrders}.
+ * <p>
+ * Uses the test products of {@link OrderServiceTestSupport}: IDs above 100 are unknown and
+ * {@link #OVERFLOWING_PRODUCT_ID} overflows the order total.
+ * </p>
+ */
+class OrderServiceBatchTests extends OrderServiceTestSupport {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    void invalidOrdersFailIndividually() {
+        OrderDto nullLine = new OrderDto(1L, null, null, 0, 0, 0, null, Arrays.asList(new OrderLineDto(1L, 1, 0), null));
+        List<OrderDto> batch = Arrays.asList(
+                order(1L, 1), null, nullLine, order(null, 1), order(2L, 0), order(200L, 1), order(3L, 2));
+
+        List<OrderBatchResultDto> results = orderService.createOrders(batch);
+
+        assertEquals(List.of(true, false, false, false, false, false, true),
+                results.stream().map(OrderBatchResultDto::isSuccess).toList());
+        assertEquals("The order is missing.", results.get(1).getMessage());
+        assertEquals("An order line is missing.", results.get(2).getMessage());
+        assertEquals("The product ID of an order line is missing.", results.get(3).getMessage());
+        assertEquals("The quantity of an order line must be positive.", results.get(4).getMessage());
+        assertEquals("Product not found with id: 200", results.get(5).getMessage());
+        assertEquals(600, results.get(6).getOrder().getTotalPrice());
+    }
+
+    @Test
+    void overflowingTotalFailsOnlyThatOrder() {
+        List<OrderBatchResultDto> results = orderService.createOrders(List.of(order(OVERFLOWING_PRODUCT_ID, 3), order(1L, 1)));
+
+        assertFalse(results.get(0).isSuccess());
+        assertEquals("The total price of the order is too large.", results.get(0).getMessage());
+        assertTrue(results.get(1).isSuccess());
+    }
+
+    @Test
+    void failedChunkIsSavedOneOrderAtATime() {
+        doThrow(new DataIntegrityViolationException("chunk")).when(orderRepository).saveAll(anyIterable());
+        doThrow(new DataIntegrityViolationException("order"))
+                .when(orderRepository).save(argThat((Order order) -> Long.valueOf(13L).equals(order.getCustomerId())));
+
+        OrderDto rejected = order(2L, 1);
+        rejected.setCustomerId(13L);
+        List<OrderBatchResultDto> results = orderService.createOrders(List.of(order(1L, 1), rejected, order(3L, 1)));
+
+        assertEquals(List.of(true, false, true), results.stream().map(OrderBatchResultDto::isSuccess).toList());
+        assertEquals("The order could not be saved.", results.get(1).getMessage());
+        assertTrue(orderRepository.existsById(results.get(0).getOrder().getId()));
+        assertTrue(orderRepository.existsById(results.get(2).getOrder().getId()));
+    }
+}
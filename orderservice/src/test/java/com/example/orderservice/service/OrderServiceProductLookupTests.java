@@ -0,0 +1,116 @@
+package com.example.orderservice.service;
+
+import com.example.orderservice.OrderServiceTestSupport;
+import com.example.orderservice.dto.OrderBatchResultDto;
+import com.example.orderservice.dto.OrderDto;
+import com.example.orderservice.dto.OrderLineDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Counts the calls {@link OrderService} makes to the product service per operation.
+ * <p>
+ * The product cache is disabled by {@link OrderServiceTestSupport} so that every product lookup reaches the
+ * proxy and a repeated lookup within one operation would show up as an extra call.
+ * </p>
+ */
+class OrderServiceProductLookupTests extends OrderServiceTestSupport {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Test
+    void createOrderFetchesProductOnce() {
+        OrderDto created = orderService.createOrder(order(5L, 2));
+
+        assertEquals(1000, created.getTotalPrice());
+        verify(productServiceProxy, times(1)).getProductsByIds(List.of(5L));
+        verify(productServiceProxy, never()).getProductById(anyLong());
+    }
+
+    @Test
+    void createOrderAsyncFetchesProductOnce() {
+        OrderDto created = orderService.createOrderAsync(order(6L, 1)).join();
+
+        assertEquals(600, created.getProductPrice());
+        verify(productServiceProxy, times(1)).getProductsByIds(List.of(6L));
+    }
+
+    @Test
+    void createMultiLineOrderResolvesAllLinesInOneCall() {
+        OrderDto cart = new OrderDto(1L, null, null, 0, 0, 0, null, List.of(
+                new OrderLineDto(10L, 1, 0), new OrderLineDto(11L, 2, 0), new OrderLineDto(10L, 3, 0)));
+
+        OrderDto created = orderService.createOrder(cart);
+
+        assertEquals(1000 + 2200 + 3000, created.getTotalPrice());
+        assertEquals(3, created.getLines().size());
+        assertEquals(6, created.getQuantity());
+        verify(productServiceProxy, times(1)).getProductsByIds(argThat(ids -> Set.copyOf(ids).equals(Set.of(10L, 11L))));
+        verify(productServiceProxy, never()).getProductById(anyLong());
+
+        OrderDto read = orderService.getOrderById(created.getId());
+        assertEquals(created.getLines(), read.getLines());
+    }
+
+    @Test
+    void updateOrderFetchesProductOnce() {
+        OrderDto created = orderService.createOrder(order(7L, 1));
+        clearInvocations(productServiceProxy);
+
+        OrderDto updated = orderService.updateOrder(created.getId(), order(8L, 3));
+
+        assertEquals(2400, updated.getTotalPrice());
+        assertEquals(1, orderService.getOrderById(created.getId()).getLines().size());
+        verify(productServiceProxy, times(1)).getProductsByIds(List.of(8L));
+        verify(productServiceProxy, never()).getProductById(anyLong());
+    }
+
+    @Test
+    void createOrdersResolvesAllProductsInOneCall() {
+        List<OrderBatchResultDto> results = orderService.createOrders(List.of(order(1L, 1), order(2L, 1), order(1L, 2)));
+
+        assertTrue(results.stream().allMatch(OrderBatchResultDto::isSuccess));
+        verify(productServiceProxy, times(1)).getProductsByIds(argThat(ids -> Set.copyOf(ids).equals(Set.of(1L, 2L))));
+        verify(productServiceProxy, never()).getProductById(anyLong());
+    }
+
+    @Test
+    void getAllOrdersDoesNotCallProductService() {
+        orderService.createOrders(List.of(order(3L, 1), order(4L, 1)));
+        clearInvocations(productServiceProxy);
+
+        orderService.getAllOrders();
+        orderService.getOrdersPage(null, 10);
+        orderService.exportOrders(order -> assertTrue(order.getLines().size() > 0));
+
+        verifyNoInteractions(productServiceProxy);
+    }
+
+    @Test
+    void getOrderByIdServesStoredPrice() {
+        OrderDto created = orderService.createOrder(order(9L, 1));
+        clearInvocations(productServiceProxy);
+        when(productServiceProxy.getProductsByIds(anyCollection())).thenReturn(List.of(product(99L)));
+
+        OrderDto read = orderService.getOrderById(created.getId());
+
+        assertEquals(900, read.getProductPrice());
+        verifyNoInteractions(productServiceProxy);
+    }
+}
@@ -3,9 +3,11 @@ package com.example.paymentservice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableFeignClients
+@EnableScheduling    // Enables the background relay of the order status outbox
 public class PaymentserviceApplication {
 
     public static void main(String[] args) {
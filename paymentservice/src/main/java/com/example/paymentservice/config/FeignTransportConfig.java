@@ -0,0 +1,81 @@
+package com.example.paymentservice.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Configuration of the pooled Apache HttpClient 5 transport used by the Feign clients.
+ */
+@Configuration
+public class FeignTransportConfig {
+
+    /**
+     * Creates the connection pool shared by the Feign clients.
+     * <p>
+     * Replaces the default pool created by Spring Cloud OpenFeign so that the size of the
+     * pool towards the order service can be set explicitly.
+     * </p>
+     *
+     * @param orderServiceUrl Base URL of the order service.
+     * @param maxConnections Maximum number of pooled connections across all targets.
+     * @param maxConnectionsPerRoute Default maximum number of connections per target.
+     * @param orderServiceMaxConnections Maximum number of connections to the order service.
+     * @param timeToLive Maximum lifetime of a pooled connection, so connections are eventually rebalanced.
+     * @return The pooling connection manager.
+     */
+    @Bean
+    public PoolingHttpClientConnectionManager hc5ConnectionManager(
+            @Value("${paymentservice.order-service.url}") String orderServiceUrl,
+            @Value("${paymentservice.feign.max-connections:200}") int maxConnections,
+            @Value("${paymentservice.feign.max-connections-per-route:50}") int maxConnectionsPerRoute,
+            @Value("${paymentservice.order-service.max-connections:100}") int orderServiceMaxConnections,
+            @Value("${paymentservice.feign.connection-time-to-live:PT5M}") Duration timeToLive) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setTimeToLive(TimeValue.of(timeToLive))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+        connectionManager.setMaxPerRoute(route(orderServiceUrl), orderServiceMaxConnections);
+        return connectionManager;
+    }
+
+    /**
+     * Publishes the pool's leased, available and pending connection counts to Micrometer
+     * under {@code httpcomponents.httpclient.pool.*} with the tag {@code httpclient=feign}.
+     *
+     * @param hc5ConnectionManager The pooling connection manager used by the Feign clients.
+     * @return The binder registering the pool metrics.
+     */
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(PoolingHttpClientConnectionManager hc5ConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(hc5ConnectionManager, "feign");
+    }
+
+    /**
+     * Builds the pool route for a base URL, resolving the scheme's default port when none is given.
+     *
+     * @param url The base URL of the target.
+     * @return The route identifying the target in the pool.
+     */
+    private static HttpRoute route(String url) {
+        URI uri = URI.create(url);
+        boolean secure = "https".equalsIgnoreCase(uri.getScheme());
+        int port = (uri.getPort() != -1) ? uri.getPort() : (secure ? 443 : 80);
+        return new HttpRoute(new HttpHost(uri.getScheme(), uri.getHost(), port), null, secure);
+    }
+}
@@ -1,13 +1,20 @@
 package com.example.paymentservice.controller;
 
+import com.example.paymentservice.dto.PaymentPageDto;
 import com.example.paymentservice.dto.PaymentRequestDto;
 import com.example.paymentservice.dto.PaymentResponseDto;
+import com.example.paymentservice.dto.PaymentSummaryDto;
+import com.example.paymentservice.service.IdempotencyIndex;
 import com.example.paymentservice.service.PaymentService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 /**
  * Controller for handling payment-related requests.
  * Provides endpoints for processing payments and retrieving payment status.
@@ -17,30 +24,87 @@ import org.springframework.web.bind.annotation.*;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final IdempotencyIndex idempotencyIndex;
 
     /**
-     * Constructor-based injection for PaymentService.
+     * Constructor-based injection for PaymentService and IdempotencyIndex.
      * This approach is preferred for better testability and immutability.
      *
      * @param paymentService the PaymentService instance
+     * @param idempotencyIndex the index remembering responses per idempotency key
      */
     @Autowired
-    public PaymentController(PaymentService paymentService) {
+    public PaymentController(PaymentService paymentService, IdempotencyIndex idempotencyIndex) {
         this.paymentService = paymentService;
+        this.idempotencyIndex = idempotencyIndex;
     }
 
     /**
      * Endpoint to process a payment.
      *
+     * If an Idempotency-Key header is sent, retries with the same key return the response of the
+     * first request instead of processing the payment again.
+     *
+     * @param idempotencyKey optional key identifying the payment attempt across retries
      * @param paymentRequestDto the payment request details
      * @return ResponseEntity containing PaymentResponseDto and HTTP status
      */
     @PostMapping("/process")
-    public ResponseEntity<PaymentResponseDto> processPayment(@RequestBody PaymentRequestDto paymentRequestDto) {
-        PaymentResponseDto paymentResponse = paymentService.processPayment(paymentRequestDto);
+    public ResponseEntity<PaymentResponseDto> processPayment(@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                                             @RequestBody PaymentRequestDto paymentRequestDto) {
+        PaymentResponseDto paymentResponse = (idempotencyKey == null || idempotencyKey.isBlank())
+                ? paymentService.processPayment(paymentRequestDto)
+                : idempotencyIndex.process(idempotencyKey, paymentRequestDto,
+                        () -> paymentService.processPayment(paymentRequestDto));
         return new ResponseEntity<>(paymentResponse, HttpStatus.OK);
     }
 
+    /**
+     * Endpoint to retrieve the payments of an order.
+     *
+     * @param orderId the ID of the order
+     * @return ResponseEntity containing the list of PaymentSummaryDto and HTTP status
+     */
+    @GetMapping(params = "orderId")
+    public ResponseEntity<List<PaymentSummaryDto>> getPaymentsByOrderId(@RequestParam Long orderId) {
+        return new ResponseEntity<>(paymentService.getPaymentsByOrderId(orderId), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint to retrieve a page of payments with a given status.
+     *
+     * @param status the status of the payments (e.g., 'PROCESSED')
+     * @param after the 'nextAfter' cursor of the previous page; omit for the first page
+     * @param size the maximum number of payments to return (at most {@link PaymentService#MAX_PAGE_SIZE})
+     * @return ResponseEntity containing a PaymentPageDto and HTTP status
+     */
+    @GetMapping(params = "status")
+    public ResponseEntity<PaymentPageDto> getPaymentsByStatus(@RequestParam String status,
+                                                              @RequestParam(required = false) Long after,
+                                                              @RequestParam(defaultValue = "100") int size) {
+        return new ResponseEntity<>(paymentService.getPaymentsByStatus(status, after, size), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint to retrieve a page of the payments made in a time window.
+     *
+     * @param from the start of the window (ISO date-time), inclusive
+     * @param to the end of the window (ISO date-time), exclusive
+     * @param afterTimestamp the 'nextAfterTimestamp' cursor of the previous page; omit for the first page
+     * @param after the 'nextAfter' cursor of the previous page; omit for the first page
+     * @param size the maximum number of payments to return (at most {@link PaymentService#MAX_PAGE_SIZE})
+     * @return ResponseEntity containing a PaymentPageDto and HTTP status
+     */
+    @GetMapping(params = {"from", "to"})
+    public ResponseEntity<PaymentPageDto> getPaymentsInWindow(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterTimestamp,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "100") int size) {
+        return new ResponseEntity<>(paymentService.getPaymentsInWindow(from, to, afterTimestamp, after, size), HttpStatus.OK);
+    }
+
     /**
      * Endpoint to retrieve the status of a payment by its ID.
      *
@@ -52,4 +116,17 @@ public class PaymentController {
         PaymentResponseDto payment = paymentService.getPaymentStatus(paymentId);
         return new ResponseEntity<>(payment, HttpStatus.OK);
     }
+
+    /**
+     * Endpoint called by the Order Service after it updates or deletes an order, so that the
+     * order is fetched again the next time it is needed.
+     *
+     * @param orderId the ID of the order that changed
+     * @return ResponseEntity with HTTP status 204 (No Content)
+     */
+    @DeleteMapping("/order-cache/{orderId}")
+    public ResponseEntity<Void> evictOrder(@PathVariable Long orderId) {
+        paymentService.evictOrder(orderId);
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
 }
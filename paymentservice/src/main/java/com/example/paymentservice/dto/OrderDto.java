@@ -1,5 +1,8 @@
 package com.example.paymentservice.dto;
 
+import com.example.paymentservice.money.Money;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Data;
 
 /**
@@ -13,8 +16,13 @@ public class OrderDto {
     private Long id;
     private Long productId;
     private int quantity;
-    private double productPrice;
-    private double totalPrice;
+    @JsonSerialize(using = Money.Serializer.class)
+    @JsonDeserialize(using = Money.Deserializer.class)
+    private long productPrice; // In cents
+    @JsonSerialize(using = Money.Serializer.class)
+    @JsonDeserialize(using = Money.Deserializer.class)
+    private long totalPrice;   // In cents
+    private Long version;      // Version of the order, changed by every update of it in the Order Service
 
     /**
      * Default constructor.
@@ -31,10 +39,10 @@ public class OrderDto {
      * @param id the unique identifier of the order
      * @param productId the ID of the product ordered
      * @param quantity the quantity of the product ordered
-     * @param productPrice the price of a single product
-     * @param totalPrice the total price of the order
+     * @param productPrice the price of a single product, in cents
+     * @param totalPrice the total price of the order, in cents
      */
-    public OrderDto(Long customerId, Long id, Long productId, int quantity, double productPrice, double totalPrice) {
+    public OrderDto(Long customerId, Long id, Long productId, int quantity, long productPrice, long totalPrice) {
         this.customerId = customerId;
         this.id = id;
         this.productId = productId;
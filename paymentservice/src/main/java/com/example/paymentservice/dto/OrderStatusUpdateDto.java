@@ -0,0 +1,18 @@
+package com.example.paymentservice.dto;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object for a status change of one order, sent to the Order Service.
+ */
+@Data
+public class OrderStatusUpdateDto {
+
+    private Long orderId; // The ID of the order to update
+    private String status; // The new status of the order (e.g., 'PAID')
+
+    public OrderStatusUpdateDto(Long orderId, String status) {
+        this.orderId = orderId;
+        this.status = status;
+    }
+}
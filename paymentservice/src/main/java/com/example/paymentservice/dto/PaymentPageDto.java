@@ -0,0 +1,25 @@
+package com.example.paymentservice.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for a page of payments returned by keyset pagination.
+ * The cursor of the next page is the position of the last payment in this page; both cursor
+ * fields are null once the last page has been returned.
+ */
+@Data
+public class PaymentPageDto {
+
+    private List<PaymentSummaryDto> payments; // Payments in this page
+    private Long nextAfter;                   // ID of the last payment, to be passed as 'after' for the next page
+    private LocalDateTime nextAfterTimestamp; // Timestamp of the last payment, to be passed as 'afterTimestamp' (time window queries only)
+
+    public PaymentPageDto(List<PaymentSummaryDto> payments, Long nextAfter, LocalDateTime nextAfterTimestamp) {
+        this.payments = payments;
+        this.nextAfter = nextAfter;
+        this.nextAfterTimestamp = nextAfterTimestamp;
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.paymentservice.dto;
 
+import com.example.paymentservice.money.Money;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Data;
 
 /**
@@ -9,9 +12,12 @@ import lombok.Data;
 @Data
 public class PaymentRequestDto {
     private Long orderId;          // The ID of the order associated with this payment
-    private Double amount;        // The amount of money to be paid
+    @JsonSerialize(using = Money.Serializer.class)
+    @JsonDeserialize(using = Money.Deserializer.class)
+    private long amount;          // The amount of money to be paid, in cents (a decimal amount in JSON)
     private String paymentMethod; // The method used for the payment (e.g., credit card, PayPal)
     private Long customerId;      // The ID of the customer making the payment
+    private Long orderVersion;    // The version of the order being paid, as read from the Order Service (optional)
 
     // Note: Lombok's @Data annotation generates the getters, setters,
     // toString(), equals(), and hashCode() methods automatically.
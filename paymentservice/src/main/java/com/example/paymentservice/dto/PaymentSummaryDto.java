@@ -0,0 +1,35 @@
+package com.example.paymentservice.dto;
+
+import com.example.paymentservice.money.Money;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object (DTO) for a payment returned by the payment queries.
+ * Instances are built directly by the queries, without loading Payment entities.
+ */
+@Data
+public class PaymentSummaryDto {
+
+    private Long id;                 // The unique identifier of the payment
+    private Long orderId;            // The ID of the associated order
+    @JsonSerialize(using = Money.Serializer.class)
+    @JsonDeserialize(using = Money.Deserializer.class)
+    private long amount;             // The amount of the payment, in cents (a decimal amount in JSON)
+    private String paymentStatus;    // The status of the payment
+    private String paymentMethod;    // The method used to make the payment
+    private LocalDateTime timestamp; // The date and time when the payment was processed
+
+    public PaymentSummaryDto(Long id, Long orderId, long amount, String paymentStatus, String paymentMethod,
+                             LocalDateTime timestamp) {
+        this.id = id;
+        this.orderId = orderId;
+        this.amount = amount;
+        this.paymentStatus = paymentStatus;
+        this.paymentMethod = paymentMethod;
+        this.timestamp = timestamp;
+    }
+}
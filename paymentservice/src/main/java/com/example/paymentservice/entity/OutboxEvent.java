@@ -0,0 +1,35 @@
+package com.example.paymentservice.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity class representing an order status change waiting to be sent to the Order Service.
+ * Events are written in the same transaction as the payment that causes them and deleted
+ * once the Order Service has accepted them.
+ */
+@Data
+@Entity
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;                 // Unique identifier, also the order in which events are sent
+    private Long orderId;            // The ID of the order whose status changes
+    private String orderStatus;      // The new status of the order (e.g., 'PAID')
+    private LocalDateTime createdAt; // The date and time when the event was recorded
+
+    public OutboxEvent() {
+    }
+
+    public OutboxEvent(Long orderId, String orderStatus, LocalDateTime createdAt) {
+        this.orderId = orderId;
+        this.orderStatus = orderStatus;
+        this.createdAt = createdAt;
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.paymentservice.entity;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Data;
 
 import java.time.LocalDateTime;
@@ -11,16 +15,26 @@ import java.time.LocalDateTime;
 /**
  * Entity class representing a payment record in the database.
  * This class is mapped to the 'payments' table in the database.
+ * An order can be paid only once, which is enforced by a unique constraint on the order ID.
+ * The status and timestamp indexes include the ID so that the paginated queries can seek
+ * directly to the next page.
  */
 @Data
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_payment_order_id", columnNames = "orderId"),
+        indexes = {
+                @Index(name = "idx_payment_status_id", columnList = "paymentStatus, id"),
+                @Index(name = "idx_payment_timestamp_id", columnList = "timestamp, id")
+        })
 public class Payment {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;              // Unique identifier for the payment record
     private Long orderId;         // The ID of the associated order
-    private Double amount;       // The amount of the payment
+    private Long customerId;      // The ID of the customer who paid the order; null for payments made before it was recorded
+    @Column(name = "amount_cents")
+    private long amount;          // The amount of the payment, in cents (see Money)
     private String paymentStatus; // The current status of the payment (e.g., 'SUCCESS', 'FAILED')
     private String paymentMethod; // The method used to make the payment (e.g., 'Credit Card', 'PayPal')
     private LocalDateTime timestamp; // The date and time when the payment was processed
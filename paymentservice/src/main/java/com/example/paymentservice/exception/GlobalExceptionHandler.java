@@ -1,5 +1,6 @@
 package com.example.paymentservice.exception;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -43,6 +44,35 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles exceptions of type OrderServiceUnavailableException.
+     *
+     * @param e the OrderServiceUnavailableException instance
+     * @return a ResponseEntity containing an ErrorResponse with a 503 Service Unavailable status
+     */
+    @ExceptionHandler(OrderServiceUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ResponseBody
+    public ResponseEntity<ErrorResponse> handleOrderServiceUnavailableException(OrderServiceUnavailableException e) {
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Handles exceptions of type DataIntegrityViolationException, raised when two concurrent
+     * requests try to pay the same order.
+     *
+     * @param e the DataIntegrityViolationException instance
+     * @return a ResponseEntity containing an ErrorResponse with a 409 Conflict status
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    @ResponseBody
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(DataIntegrityViolationException e) {
+        ErrorResponse errorResponse = new ErrorResponse(HttpStatus.CONFLICT.value(), "A payment for this order has already been processed.");
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
     /**
      * Handles all other exceptions.
      *
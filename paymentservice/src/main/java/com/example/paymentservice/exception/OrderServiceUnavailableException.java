@@ -0,0 +1,18 @@
+package com.example.paymentservice.exception;
+
+/**
+ * Custom exception thrown when the Order Service cannot be reached.
+ * This exception is used when the call fails, times out, or is refused because the
+ * circuit breaker is open or too many calls to the Order Service are already in progress.
+ */
+public class OrderServiceUnavailableException extends RuntimeException {
+
+    /**
+     * Constructs a new OrderServiceUnavailableException with the specified detail message.
+     *
+     * @param message the detail message that describes the reason for the exception
+     */
+    public OrderServiceUnavailableException(String message) {
+        super(message);
+    }
+}
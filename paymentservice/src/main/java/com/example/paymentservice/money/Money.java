@@ -0,0 +1,232 @@
+package com.example.paymentservice.money;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Monetary amounts as a primitive {@code long} number of cents.
+ * <p>
+ * Amounts are never held in floating point, so totals add up exactly and two amounts are equal
+ * exactly when their cents are. This class only has static operations on those {@code long}
+ * values, so working with amounts allocates nothing.
+ * </p>
+ * <p>
+ * In JSON an amount is a decimal number of currency units with two decimals, e.g. {@code 39.98}.
+ * Incoming amounts with more decimals are rounded to the nearest cent, with halves rounded away
+ * from zero ({@link RoundingMode#HALF_UP}), so that a client's floating-point noise such as
+ * {@code 39.980000000000004} still reads as {@code 39.98}. Fields holding cents are bound with
+ * {@link Serializer} and {@link Deserializer}.
+ * </p>
+ */
+public final class Money {
+
+    /**
+     * Number of decimals of an amount: amounts are counted in hundredths of the currency unit.
+     */
+    public static final int SCALE = 2;
+
+    /**
+     * Longest number of digits parsed without overflow checks; longer input is parsed with BigDecimal.
+     */
+    private static final int MAX_FAST_DIGITS = 16;
+
+    private Money() {
+    }
+
+    /**
+     * Multiplies a unit price by a quantity.
+     *
+     * @param cents The unit price, in cents.
+     * @param quantity The number of units.
+     * @return The price of all units, in cents.
+     * @throws ArithmeticException if the result overflows.
+     */
+    public static long times(long cents, int quantity) {
+        return Math.multiplyExact(cents, quantity);
+    }
+
+    /**
+     * Adds two amounts.
+     *
+     * @param cents An amount, in cents.
+     * @param other Another amount, in cents.
+     * @return The sum, in cents.
+     * @throws ArithmeticException if the result overflows.
+     */
+    public static long plus(long cents, long other) {
+        return Math.addExact(cents, other);
+    }
+
+    /**
+     * Parses a decimal amount of currency units into cents, rounding half away from zero.
+     *
+     * @param text The decimal amount, e.g. {@code "39.98"}; exponent notation is accepted.
+     * @return The amount in cents.
+     * @throws NumberFormatException if the text is not a decimal number.
+     * @throws ArithmeticException if the amount does not fit in a long number of cents.
+     */
+    public static long parse(String text) {
+        return parse(text.toCharArray(), 0, text.length());
+    }
+
+    /**
+     * Parses a decimal amount of currency units into cents, rounding half away from zero.
+     * <p>
+     * Plain decimals are parsed straight from the characters; only exponent notation and
+     * very long numbers go through {@link BigDecimal}.
+     * </p>
+     *
+     * @param chars Buffer holding the decimal amount.
+     * @param offset Index of the first character of the amount.
+     * @param length Number of characters of the amount.
+     * @return The amount in cents.
+     * @throws NumberFormatException if the characters are not a decimal number.
+     * @throws ArithmeticException if the amount does not fit in a long number of cents.
+     */
+    public static long parse(char[] chars, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        boolean negative = false;
+        if (i < end && (chars[i] == '-' || chars[i] == '+')) {
+            negative = chars[i] == '-';
+            i++;
+        }
+        long units = 0;
+        int digits = 0;
+        while (i < end && chars[i] >= '0' && chars[i] <= '9') {
+            units = units * 10 + (chars[i++] - '0');
+            digits++;
+        }
+        long fraction = 0;
+        int fractionDigits = 0;
+        boolean roundUp = false;
+        if (i < end && chars[i] == '.') {
+            i++;
+            while (i < end && chars[i] >= '0' && chars[i] <= '9') {
+                if (fractionDigits < SCALE) {
+                    fraction = fraction * 10 + (chars[i] - '0');
+                } else if (fractionDigits == SCALE) {
+                    roundUp = chars[i] >= '5';
+                }
+                fractionDigits++;
+                i++;
+            }
+        }
+        if (i != end || digits + fractionDigits == 0 || digits > MAX_FAST_DIGITS) {
+            return parseDecimal(new String(chars, offset, length));
+        }
+        for (int scale = fractionDigits; scale < SCALE; scale++) {
+            fraction *= 10;
+        }
+        long cents = units * 100 + fraction + (roundUp ? 1 : 0);
+        return negative ? -cents : cents;
+    }
+
+    /**
+     * Writes an amount as a decimal number of currency units with two decimals.
+     *
+     * @param cents The amount, in cents.
+     * @param buffer Buffer to write to, at least 21 characters long.
+     * @return The number of characters written, from index 0.
+     */
+    public static int format(long cents, char[] buffer) {
+        long magnitude = Math.abs(cents);
+        if (magnitude < 0) {
+            // Long.MIN_VALUE has no positive counterpart
+            String text = BigDecimal.valueOf(cents, SCALE).toPlainString();
+            text.getChars(0, text.length(), buffer, 0);
+            return text.length();
+        }
+        int length = 0;
+        if (cents < 0) {
+            buffer[length++] = '-';
+        }
+        long units = magnitude / 100;
+        int fraction = (int) (magnitude % 100);
+        int start = length;
+        do {
+            buffer[length++] = (char) ('0' + units % 10);
+            units /= 10;
+        } while (units != 0);
+        for (int left = start, right = length - 1; left < right; left++, right--) {
+            char swap = buffer[left];
+            buffer[left] = buffer[right];
+            buffer[right] = swap;
+        }
+        buffer[length++] = '.';
+        buffer[length++] = (char) ('0' + fraction / 10);
+        buffer[length++] = (char) ('0' + fraction % 10);
+        return length;
+    }
+
+    /**
+     * Returns an amount as a decimal number of currency units with two decimals.
+     *
+     * @param cents The amount, in cents.
+     * @return The amount, e.g. {@code "39.98"}.
+     */
+    public static String toString(long cents) {
+        char[] buffer = new char[21];
+        return new String(buffer, 0, format(cents, buffer));
+    }
+
+    private static long parseDecimal(String text) {
+        return new BigDecimal(text).setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Writes a field holding cents as a JSON decimal number of currency units.
+     * <p>
+     * The digits are formatted into a buffer kept per thread, which the generator copies from,
+     * so writing an amount does not allocate a string.
+     * </p>
+     */
+    public static final class Serializer extends StdScalarSerializer<Long> {
+
+        private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[21]);
+
+        public Serializer() {
+            super(Long.class);
+        }
+
+        @Override
+        public void serialize(Long cents, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            char[] buffer = BUFFER.get();
+            generator.writeNumber(buffer, 0, format(cents, buffer));
+        }
+    }
+
+    /**
+     * Reads a JSON decimal number (or string) of currency units into a field holding cents.
+     */
+    public static final class Deserializer extends StdScalarDeserializer<Long> {
+
+        public Deserializer() {
+            super(Long.class);
+        }
+
+        @Override
+        public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT
+                    && token != JsonToken.VALUE_STRING) {
+                return (Long) context.handleUnexpectedToken(Long.class, parser);
+            }
+            try {
+                return parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            } catch (NumberFormatException | ArithmeticException e) {
+                return (Long) context.handleWeirdStringValue(Long.class, parser.getText(),
+                        "not a valid monetary amount");
+            }
+        }
+    }
+}
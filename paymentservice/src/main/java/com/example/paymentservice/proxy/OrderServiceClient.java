@@ -1,15 +1,21 @@
 package com.example.paymentservice.proxy;
 
 import com.example.paymentservice.dto.OrderDto;
+import com.example.paymentservice.dto.OrderStatusUpdateDto;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
 
 /**
  * Feign client interface for communicating with the Order Service.
- * This client is used to interact with the Order Service to retrieve order information.
+ * This client is used to interact with the Order Service to retrieve order information
+ * and to report order status changes.
  */
-@FeignClient(name = "orderservice", url = "http://localhost:8081/orders")
+@FeignClient(name = "orderservice", path = "/orders")
 public interface OrderServiceClient {
 
     /**
@@ -20,6 +26,14 @@ public interface OrderServiceClient {
      */
     @GetMapping("/{id}")
     OrderDto getOrderById(@PathVariable("id") Long id);
+
+    /**
+     * Applies a batch of order status changes.
+     *
+     * @param updates the status changes to apply
+     */
+    @PutMapping("/status")
+    void updateOrderStatuses(@RequestBody List<OrderStatusUpdateDto> updates);
 }
 
 
@@ -0,0 +1,21 @@
+package com.example.paymentservice.repository;
+
+import com.example.paymentservice.entity.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+/**
+ * Repository interface for the outbox of order status changes.
+ */
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Finds the oldest pending events.
+     *
+     * @param limit the maximum number of events to return
+     * @return the events in the order they were recorded
+     */
+    List<OutboxEvent> findAllByOrderByIdAsc(Limit limit);
+}
@@ -1,7 +1,14 @@
 package com.example.paymentservice.repository;
 
+import com.example.paymentservice.dto.PaymentSummaryDto;
 import com.example.paymentservice.entity.Payment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for performing CRUD operations on Payment entities.
@@ -9,4 +16,61 @@ import org.springframework.data.jpa.repository.JpaRepository;
  */
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     // JpaRepository provides methods like save(), findById(), findAll(), deleteById(), etc.
+
+    /**
+     * Finds the payment made for an order, if any.
+     *
+     * @param orderId the ID of the order
+     * @return the payment of the order, or empty if the order has not been paid
+     */
+    Optional<Payment> findByOrderId(Long orderId);
+
+    /**
+     * Finds the payments of an order.
+     *
+     * @param orderId the ID of the order
+     * @return the payments of the order
+     */
+    @Query("select new com.example.paymentservice.dto.PaymentSummaryDto(p.id, p.orderId, p.amount, p.paymentStatus, p.paymentMethod, p.timestamp)"
+            + " from Payment p where p.orderId = :orderId")
+    List<PaymentSummaryDto> findSummariesByOrderId(Long orderId);
+
+    /**
+     * Finds payments with a given status, following a keyset cursor on the ID.
+     *
+     * @param paymentStatus the status of the payments
+     * @param afterId the ID of the last payment already returned, or 0 to start from the beginning
+     * @param limit the maximum number of payments to return
+     * @return the payments in ascending ID order
+     */
+    @Query("select new com.example.paymentservice.dto.PaymentSummaryDto(p.id, p.orderId, p.amount, p.paymentStatus, p.paymentMethod, p.timestamp)"
+            + " from Payment p where p.paymentStatus = :paymentStatus and p.id > :afterId order by p.id")
+    List<PaymentSummaryDto> findSummariesByStatus(String paymentStatus, Long afterId, Limit limit);
+
+    /**
+     * Finds the first payments in a time window.
+     *
+     * @param from the start of the window, inclusive
+     * @param to the end of the window, exclusive
+     * @param limit the maximum number of payments to return
+     * @return the payments in ascending (timestamp, ID) order
+     */
+    @Query("select new com.example.paymentservice.dto.PaymentSummaryDto(p.id, p.orderId, p.amount, p.paymentStatus, p.paymentMethod, p.timestamp)"
+            + " from Payment p where p.timestamp >= :from and p.timestamp < :to order by p.timestamp, p.id")
+    List<PaymentSummaryDto> findSummariesInWindow(LocalDateTime from, LocalDateTime to, Limit limit);
+
+    /**
+     * Finds the next payments in a time window after a keyset cursor on (timestamp, ID).
+     *
+     * @param afterTimestamp the timestamp of the last payment already returned
+     * @param afterId the ID of the last payment already returned
+     * @param to the end of the window, exclusive
+     * @param limit the maximum number of payments to return
+     * @return the payments in ascending (timestamp, ID) order
+     */
+    @Query("select new com.example.paymentservice.dto.PaymentSummaryDto(p.id, p.orderId, p.amount, p.paymentStatus, p.paymentMethod, p.timestamp)"
+            + " from Payment p where p.timestamp < :to"
+            + " and (p.timestamp > :afterTimestamp or (p.timestamp = :afterTimestamp and p.id > :afterId))"
+            + " order by p.timestamp, p.id")
+    List<PaymentSummaryDto> findSummariesInWindowAfter(LocalDateTime afterTimestamp, Long afterId, LocalDateTime to, Limit limit);
 }
@@ -0,0 +1,100 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.dto.PaymentRequestDto;
+import com.example.paymentservice.dto.PaymentResponseDto;
+import com.example.paymentservice.exception.PaymentProcessingException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, expiring index of the payment requests seen per idempotency key.
+ * <p>
+ * The first request with a given key is processed and its response remembered; a retry with the
+ * same key returns that response without processing the payment again. A retry that arrives while
+ * the first request is still running waits for its outcome instead of running in parallel. Failed
+ * requests are not remembered, so they can be retried. Entries expire after a configurable time and
+ * the index is bounded in size; its statistics are published to Micrometer under the cache name
+ * {@code idempotency-keys}.
+ * </p>
+ */
+@Component
+public class IdempotencyIndex {
+
+    private final Cache<String, Entry> entries;
+
+    /**
+     * Constructor for IdempotencyIndex.
+     *
+     * @param meterRegistry Registry the index statistics are published to.
+     * @param maximumSize Maximum number of idempotency keys remembered.
+     * @param ttl Time for which an idempotency key is remembered.
+     */
+    @Autowired
+    public IdempotencyIndex(MeterRegistry meterRegistry,
+                            @Value("${paymentservice.idempotency.maximum-size:100000}") long maximumSize,
+                            @Value("${paymentservice.idempotency.ttl:24h}") Duration ttl) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "idempotency-keys");
+    }
+
+    /**
+     * Processes a payment request at most once per idempotency key.
+     *
+     * @param key The idempotency key sent by the client.
+     * @param request The payment request.
+     * @param payment Processes the payment when the key has not been seen yet.
+     * @return The response of the first request made with this key.
+     * @throws PaymentProcessingException if the key was already used for a different request.
+     */
+    public PaymentResponseDto process(String key, PaymentRequestDto request, Supplier<PaymentResponseDto> payment) {
+        Entry entry = new Entry(request, new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(key, entry);
+        if (existing != null) {
+            if (!existing.request().equals(request)) {
+                throw new PaymentProcessingException("The idempotency key was already used for a different payment request.");
+            }
+            return await(existing.response());
+        }
+
+        try {
+            PaymentResponseDto response = payment.get();
+            entry.response().complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            entries.asMap().remove(key, entry);
+            entry.response().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static PaymentResponseDto await(CompletableFuture<PaymentResponseDto> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * A payment request and its eventual response.
+     */
+    private record Entry(PaymentRequestDto request, CompletableFuture<PaymentResponseDto> response) {
+    }
+}
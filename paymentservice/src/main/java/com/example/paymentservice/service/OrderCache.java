@@ -0,0 +1,82 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.dto.OrderDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of the orders fetched from the Order Service for payment validation.
+ *
+ * The Order Service evicts an order from this cache whenever it updates or deletes it, so cached
+ * orders normally stay accurate until they are paid. Entries also expire after a configurable
+ * time-to-live, which bounds staleness if an eviction request is lost. Because eviction is best effort,
+ * payments are only validated against a cached order whose version is the one being paid (see
+ * {@link PaymentService#processPayment}). Concurrent misses for the
+ * same order are coalesced into a single remote call. Statistics are published to Micrometer under
+ * the cache name {@code orders}.
+ */
+@Component
+public class OrderCache {
+
+    private final Cache<Long, OrderDto> cache;
+
+    /**
+     * Constructor for OrderCache.
+     *
+     * @param meterRegistry registry the cache statistics are published to
+     * @param maximumSize maximum number of orders kept in the cache
+     * @param ttl time after which a cached order is fetched again
+     */
+    @Autowired
+    public OrderCache(MeterRegistry meterRegistry,
+                      @Value("${paymentservice.order-cache.maximum-size:10000}") long maximumSize,
+                      @Value("${paymentservice.order-cache.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "orders");
+    }
+
+    /**
+     * Returns an order, loading it on a miss.
+     *
+     * @param orderId the ID of the order
+     * @param loader fetches the order from the Order Service; exceptions it throws are propagated and nothing is cached
+     * @return the order
+     */
+    public OrderDto get(Long orderId, Function<Long, OrderDto> loader) {
+        return cache.get(orderId, loader);
+    }
+
+    /**
+     * Loads an order again, replacing the cached copy.
+     *
+     * @param orderId the ID of the order
+     * @param loader fetches the order from the Order Service; exceptions it throws are propagated and the cache is left unchanged
+     * @return the order
+     */
+    public OrderDto reload(Long orderId, Function<Long, OrderDto> loader) {
+        OrderDto order = loader.apply(orderId);
+        cache.put(orderId, order);
+        return order;
+    }
+
+    /**
+     * Removes an order from the cache, so that the next lookup fetches it again.
+     *
+     * @param orderId the ID of the order
+     */
+    public void evict(Long orderId) {
+        cache.invalidate(orderId);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.paymentservice.service;
+
+import com.example.paymentservice.dto.OrderStatusUpdateDto;
+import com.example.paymentservice.entity.OutboxEvent;
+import com.example.paymentservice.proxy.OrderServiceClient;
+import com.example.paymentservice.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Background relay sending the outbox of order status changes to the Order Service.
+ *
+ * Pending events are sent in batches, oldest first, with one call per batch. A batch is deleted
+ * only after the Order Service has accepted it; if the call fails the batch stays in the outbox
+ * and is sent again on the next run, which the Order Service tolerates because repeating a
+ * status change has no effect. Delivery is therefore at least once and the order status becomes
+ * eventually consistent with the payments, without a remote call on the payment path.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OrderServiceClient orderServiceClient;
+    private final int batchSize;
+
+    /**
+     * Constructor for OutboxRelay.
+     *
+     * @param outboxEventRepository repository holding the pending events
+     * @param orderServiceClient Feign client for the Order Service
+     * @param batchSize maximum number of events sent per call
+     */
+    @Autowired
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OrderServiceClient orderServiceClient,
+                       @Value("${paymentservice.outbox.batch-size:100}") int batchSize) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.orderServiceClient = orderServiceClient;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Sends all pending events, one batch at a time, until the outbox is empty or a call fails.
+     */
+    @Scheduled(fixedDelayString = "${paymentservice.outbox.relay-interval:PT1S}")
+    public void relay() {
+        List<OutboxEvent> batch;
+        do {
+            batch = outboxEventRepository.findAllByOrderByIdAsc(Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<OrderStatusUpdateDto> updates = batch.stream()
+                    .map(event -> new OrderStatusUpdateDto(event.getOrderId(), event.getOrderStatus()))
+                    .collect(Collectors.toList());
+            try {
+                orderServiceClient.updateOrderStatuses(updates);
+            } catch (RuntimeException e) {
+                log.warn("Could not send {} order status updates, will retry: {}", updates.size(), e.getMessage());
+                return;
+            }
+            outboxEventRepository.deleteAllInBatch(batch);
+        } while (batch.size() == batchSize);
+    }
+}
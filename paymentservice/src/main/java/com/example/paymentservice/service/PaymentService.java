@@ -1,36 +1,74 @@
 package com.example.paymentservice.service;
 
 import com.example.paymentservice.dto.OrderDto;
+import com.example.paymentservice.dto.PaymentPageDto;
 import com.example.paymentservice.dto.PaymentRequestDto;
 import com.example.paymentservice.dto.PaymentResponseDto;
+import com.example.paymentservice.dto.PaymentSummaryDto;
+import com.example.paymentservice.entity.OutboxEvent;
 import com.example.paymentservice.entity.Payment;
 import com.example.paymentservice.exception.OrderNotFoundException;
+import com.example.paymentservice.exception.OrderServiceUnavailableException;
 import com.example.paymentservice.exception.PaymentProcessingException;
 import com.example.paymentservice.proxy.OrderServiceClient;
+import com.example.paymentservice.repository.OutboxEventRepository;
 import com.example.paymentservice.repository.PaymentRepository;
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 
 @Service
 public class PaymentService {
 
+    public static final int MAX_PAGE_SIZE = 500; // Upper bound for the page size of the payment queries
+
+    private static final String ORDER_SERVICE = "orderservice"; // Name of the circuit breaker and bulkhead for the Order Service
+
     private final OrderServiceClient orderServiceClient; // Feign client for interacting with the Order Service
     private final PaymentRepository paymentRepository; // Repository for accessing Payment data
+    private final OutboxEventRepository outboxEventRepository; // Outbox of order status changes for the Order Service
+    private final OrderCache orderCache; // Orders already fetched from the Order Service
+    private final CircuitBreaker orderServiceCircuitBreaker; // Stops calling the Order Service while it is failing
+    private final Bulkhead orderServiceBulkhead; // Caps the number of concurrent calls to the Order Service
 
     @Autowired
-    public PaymentService(OrderServiceClient orderServiceClient, PaymentRepository paymentRepository) {
+    public PaymentService(OrderServiceClient orderServiceClient, PaymentRepository paymentRepository,
+                          OutboxEventRepository outboxEventRepository, OrderCache orderCache,
+                          CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry) {
         this.orderServiceClient = orderServiceClient; // Injecting OrderServiceClient dependency
         this.paymentRepository = paymentRepository; // Injecting PaymentRepository dependency
+        this.outboxEventRepository = outboxEventRepository; // Injecting OutboxEventRepository dependency
+        this.orderCache = orderCache; // Injecting OrderCache dependency
+        this.orderServiceCircuitBreaker = circuitBreakerRegistry.circuitBreaker(ORDER_SERVICE);
+        this.orderServiceBulkhead = bulkheadRegistry.bulkhead(ORDER_SERVICE);
     }
 
     /**
      * Processes a payment for a given order.
      *
      * This method validates the payment amount and customer ID against the order details.
-     * If the validations pass, it creates a payment record and saves it to the database.
+     * If the validations pass, it creates a payment record and saves it to the database, together
+     * with an outbox event that marks the order as paid once relayed to the Order Service.
+     * If the order has already been paid by the same customer with the same amount and payment
+     * method, the existing payment is returned, so a retried request does not pay the order twice;
+     * any other request for an already paid order is rejected.
+     * The order is validated as described in {@link #getOrderForPayment}; an update of the order
+     * committed after it has been read, while the payment is being saved, is not detected here and
+     * is only prevented by the Order Service rejecting changes to orders that are no longer CREATED
+     * once the payment has been relayed.
      * The method is transactional, ensuring that all database operations succeed or fail together.
      *
      * @param paymentRequestDto the DTO containing payment details
@@ -39,22 +77,33 @@ public class PaymentService {
      */
     @Transactional
     public PaymentResponseDto processPayment(PaymentRequestDto paymentRequestDto) {
-        // Retrieve the order using the provided order ID
-        OrderDto order = getOrderById(paymentRequestDto.getOrderId());
+        // Return the existing payment if the order has already been paid by this same request
+        Optional<Payment> existingPayment = paymentRepository.findByOrderId(paymentRequestDto.getOrderId());
+        if (existingPayment.isPresent()) {
+            Payment payment = existingPayment.get();
+            if (!isSamePayment(payment, paymentRequestDto)) {
+                throw new PaymentProcessingException("The order has already been paid.");
+            }
+            return new PaymentResponseDto(payment.getId(), "Payment processed successfully");
+        }
+
+        // Retrieve the order being paid, checking the version the customer agreed to pay
+        OrderDto order = getOrderForPayment(paymentRequestDto);
 
-        // Validate that the payment amount matches the total price of the order
-        if (Double.compare(paymentRequestDto.getAmount(), order.getTotalPrice()) != 0) {
+        // Validate that the payment amount matches the total price of the order; both are in cents, so they compare exactly
+        if (paymentRequestDto.getAmount() != order.getTotalPrice()) {
             throw new PaymentProcessingException("The payment amount does not match the total price of the order.");
         }
 
         // Validate that the customer ID matches the one associated with the order
-        if (!paymentRequestDto.getCustomerId().equals(order.getCustomerId())) {
+        if (!Objects.equals(paymentRequestDto.getCustomerId(), order.getCustomerId())) {
             throw new PaymentProcessingException("The customer ID does not match the order.");
         }
 
         // Create a new Payment entity and populate its fields
         Payment payment = new Payment();
         payment.setOrderId(paymentRequestDto.getOrderId());
+        payment.setCustomerId(paymentRequestDto.getCustomerId());
         payment.setAmount(paymentRequestDto.getAmount());
         payment.setPaymentMethod(paymentRequestDto.getPaymentMethod());
         payment.setPaymentStatus("PROCESSED"); // Set payment status as "PROCESSED"
@@ -63,31 +112,136 @@ public class PaymentService {
         // Save the payment record to the database
         paymentRepository.save(payment);
 
-        // Here, you could update the order status using the OrderServiceClient if needed
-        // Example: orderServiceClient.updateOrderStatus(order.getId(), "PAID");
+        // Record the order status change in the outbox, in the same transaction as the payment;
+        // the OutboxRelay sends it to the Order Service in the background
+        outboxEventRepository.save(new OutboxEvent(paymentRequestDto.getOrderId(), "PAID", payment.getTimestamp()));
 
         // Return a response indicating successful payment processing
         return new PaymentResponseDto(payment.getId(), "Payment processed successfully");
     }
 
+    /**
+     * Retrieves the order a payment request is validated against.
+     *
+     * The Order Service evicts changed orders from the order cache on a best-effort basis, so a cached
+     * order may be older than the one being paid. The cached order is therefore only used when the
+     * request names the version it pays and the cached order has that version; otherwise the order is
+     * fetched again. A request naming another version than the current one is rejected, since the
+     * customer agreed to pay for an order that has changed since.
+     *
+     * @param request the payment request
+     * @return the current order
+     * @throws PaymentProcessingException if the order has changed since the version named in the request
+     */
+    private OrderDto getOrderForPayment(PaymentRequestDto request) {
+        Long orderVersion = request.getOrderVersion();
+        if (orderVersion != null) {
+            OrderDto cached = getOrderById(request.getOrderId());
+            if (orderVersion.equals(cached.getVersion())) {
+                return cached;
+            }
+        }
+        OrderDto order = orderCache.reload(request.getOrderId(), this::fetchOrder);
+        if (orderVersion != null && !orderVersion.equals(order.getVersion())) {
+            throw new PaymentProcessingException("The order has changed since it was read.");
+        }
+        return order;
+    }
+
+    /**
+     * Checks whether a payment request repeats the request that created an existing payment.
+     *
+     * The customer, amount and payment method must all match. Payments recorded before the customer
+     * was stored are checked against the customer of the order instead.
+     *
+     * @param payment the existing payment of the order
+     * @param request the payment request
+     * @return true if the request is a retry of the one that created the payment
+     */
+    private boolean isSamePayment(Payment payment, PaymentRequestDto request) {
+        Long customerId = (payment.getCustomerId() != null)
+                ? payment.getCustomerId()
+                : getOrderById(payment.getOrderId()).getCustomerId();
+        return Objects.equals(customerId, request.getCustomerId())
+                && payment.getAmount() == request.getAmount()
+                && Objects.equals(payment.getPaymentMethod(), request.getPaymentMethod());
+    }
+
     /**
      * Retrieves an order by its ID.
      *
-     * This method communicates with the Order Service to fetch order details.
-     * If the order is not found, it throws an OrderNotFoundException.
+     * The order is served from the order cache when possible; on a miss it is fetched from the
+     * Order Service. The call goes through the Order Service bulkhead and circuit breaker, so that
+     * a slow or failing Order Service is not waited on by every payment request.
      *
      * @param id the ID of the order
      * @return the OrderDto containing the order details
      * @throws OrderNotFoundException if the order is not found
+     * @throws OrderServiceUnavailableException if the Order Service cannot be called or fails
      */
     public OrderDto getOrderById(Long id) {
-        try {
-            // Fetch the order from the Order Service using the Feign client
-            return orderServiceClient.getOrderById(id);
-        } catch (Exception e) {
-            // Throw a custom exception if the order is not found
-            throw new OrderNotFoundException("Order with ID " + id + " not found.");
+        return orderCache.get(id, this::fetchOrder);
+    }
+
+    /**
+     * Removes an order from the order cache, after the Order Service has updated or deleted it.
+     *
+     * @param orderId the ID of the order
+     */
+    public void evictOrder(Long orderId) {
+        orderCache.evict(orderId);
+    }
+
+    /**
+     * Retrieves the payments of an order.
+     *
+     * @param orderId the ID of the order
+     * @return the payments of the order, empty if the order has not been paid
+     */
+    public List<PaymentSummaryDto> getPaymentsByOrderId(Long orderId) {
+        return paymentRepository.findSummariesByOrderId(orderId);
+    }
+
+    /**
+     * Retrieves a page of payments with a given status, using keyset pagination on the payment ID.
+     *
+     * @param paymentStatus the status of the payments (e.g., 'PROCESSED')
+     * @param afterId the ID of the last payment of the previous page, or null for the first page
+     * @param size the maximum number of payments to return; clamped to [1, MAX_PAGE_SIZE]
+     * @return a PaymentPageDto with the payments and the cursor of the next page
+     */
+    public PaymentPageDto getPaymentsByStatus(String paymentStatus, Long afterId, int size) {
+        int pageSize = pageSize(size);
+        List<PaymentSummaryDto> payments = paymentRepository.findSummariesByStatus(
+                paymentStatus, afterId != null ? afterId : 0L, Limit.of(pageSize));
+        return page(payments, pageSize, false);
+    }
+
+    /**
+     * Retrieves a page of the payments made in a time window, using keyset pagination on
+     * (timestamp, payment ID).
+     *
+     * @param from the start of the window, inclusive
+     * @param to the end of the window, exclusive
+     * @param afterTimestamp the timestamp of the last payment of the previous page, or null for the first page
+     * @param afterId the ID of the last payment of the previous page, or null for the first page
+     * @param size the maximum number of payments to return; clamped to [1, MAX_PAGE_SIZE]
+     * @return a PaymentPageDto with the payments and the cursor of the next page
+     * @throws PaymentProcessingException if the window or the cursor is invalid
+     */
+    public PaymentPageDto getPaymentsInWindow(LocalDateTime from, LocalDateTime to,
+                                              LocalDateTime afterTimestamp, Long afterId, int size) {
+        if (!from.isBefore(to)) {
+            throw new PaymentProcessingException("The start of the time window must be before its end.");
+        }
+        if ((afterTimestamp == null) != (afterId == null)) {
+            throw new PaymentProcessingException("Both 'after' and 'afterTimestamp' are required to request the next page.");
         }
+        int pageSize = pageSize(size);
+        List<PaymentSummaryDto> payments = (afterId == null)
+                ? paymentRepository.findSummariesInWindow(from, to, Limit.of(pageSize))
+                : paymentRepository.findSummariesInWindowAfter(afterTimestamp, afterId, to, Limit.of(pageSize));
+        return page(payments, pageSize, true);
     }
 
     /**
@@ -108,4 +262,39 @@ public class PaymentService {
         // Return the payment status in the response
         return new PaymentResponseDto(payment.getId(), "Payment status is " + payment.getPaymentStatus());
     }
+
+    /**
+     * Fetches an order from the Order Service through its bulkhead and circuit breaker.
+     *
+     * @param id the ID of the order
+     * @return the OrderDto containing the order details
+     * @throws OrderNotFoundException if the order is not found
+     * @throws OrderServiceUnavailableException if the Order Service cannot be called or fails
+     */
+    private OrderDto fetchOrder(Long id) {
+        try {
+            // Fetch the order from the Order Service using the Feign client
+            return Bulkhead.decorateSupplier(orderServiceBulkhead,
+                    CircuitBreaker.decorateSupplier(orderServiceCircuitBreaker, () -> orderServiceClient.getOrderById(id))).get();
+        } catch (FeignException.NotFound e) {
+            // Throw a custom exception if the order is not found
+            throw new OrderNotFoundException("Order with ID " + id + " not found.");
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            throw new OrderServiceUnavailableException("Order Service is unavailable: " + e.getMessage());
+        } catch (FeignException e) {
+            throw new OrderServiceUnavailableException("Order Service call failed with status " + e.status() + ".");
+        }
+    }
+
+    private static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static PaymentPageDto page(List<PaymentSummaryDto> payments, int pageSize, boolean timestampCursor) {
+        if (payments.size() < pageSize) {
+            return new PaymentPageDto(payments, null, null);
+        }
+        PaymentSummaryDto last = payments.get(payments.size() - 1);
+        return new PaymentPageDto(payments, last.getId(), timestampCursor ? last.getTimestamp() : null);
+    }
 }
@@ -0,0 +1,23 @@
+create table payment (
+    id             bigint generated by default as identity,
+    order_id       bigint,
+    amount         float(53),
+    payment_status varchar(255),
+    payment_method varchar(255),
+    timestamp      timestamp(6),
+    primary key (id),
+    -- An order is paid at most once; also serves lookups by order
+    constraint uk_payment_order_id unique (order_id)
+);
+
+-- Keyset pagination by status and by time window
+create index idx_payment_status_id on payment (payment_status, id);
+create index idx_payment_timestamp_id on payment (timestamp, id);
+
+create table outbox_event (
+    id           bigint generated by default as identity,
+    order_id     bigint,
+    order_status varchar(255),
+    created_at   timestamp(6),
+    primary key (id)
+);
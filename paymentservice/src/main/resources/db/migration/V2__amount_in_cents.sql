@@ -0,0 +1,5 @@
+-- Amounts are stored as a whole number of cents instead of floating point, rounded half away from zero
+alter table payment add column amount_cents bigint;
+update payment set amount_cents = coalesce(round(cast(amount as decimal(19, 6)) * 100), 0);
+alter table payment alter column amount_cents set not null;
+alter table payment drop column amount;
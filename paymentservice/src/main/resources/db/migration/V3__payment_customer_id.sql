@@ -0,0 +1,2 @@
+-- Customer who paid each order, so that a repeated payment request can be checked against the original one
+alter table payment add column customer_id bigint;
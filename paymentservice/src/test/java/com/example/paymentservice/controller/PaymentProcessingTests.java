@@ -0,0 +1,191 @@
+package com.example.paymentservice.controller;
+
+import com.example.paymentservice.dto.OrderDto;
+import com.example.paymentservice.proxy.OrderServiceClient;
+import com.example.paymentservice.repository.PaymentRepository;
+import com.example.paymentservice.service.PaymentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for {@code POST /payments/process} with retried, conflicting and concurrent requests.
+ * <p>
+ * The Order Service is mocked: every order {@code id} belongs to customer 1 and totals 136.00.
+ * Each test pays its own order, since the in-memory database and the order cache are shared by the tests.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PaymentProcessingTests {
+
+    @MockBean
+    private OrderServiceClient orderServiceClient;
+
+    @SpyBean
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void stubOrders() {
+        when(orderServiceClient.getOrderById(anyLong()))
+                .thenAnswer(invocation -> new OrderDto(1L, invocation.getArgument(0), 3L, 2, 6800, 13600));
+    }
+
+    @Test
+    void retryWithSameKeyReturnsFirstPayment() throws Exception {
+        String first = pay("key-101", body(101L, "136.00", 1L)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        pay("key-101", body(101L, "136.00", 1L)).andExpect(status().isOk())
+                .andExpect(result -> assertEquals(first, result.getResponse().getContentAsString()));
+
+        verify(paymentRepository, times(1)).findByOrderId(101L);
+        assertEquals(1, paymentRepository.findSummariesByOrderId(101L).size());
+    }
+
+    @Test
+    void sameKeyWithDifferentBodyIsRejected() throws Exception {
+        pay("key-102", body(102L, "136.00", 1L)).andExpect(status().isOk());
+
+        pay("key-102", body(102L, "136.00", 2L))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("The idempotency key was already used for a different payment request."));
+    }
+
+    @Test
+    void amountWithFloatingPointNoiseMatchesTotal() throws Exception {
+        pay(null, body(103L, "136.00000000000003", 1L)).andExpect(status().isOk());
+
+        assertEquals(13600, paymentRepository.findSummariesByOrderId(103L).get(0).getAmount());
+    }
+
+    @Test
+    void amountMustMatchTotalToTheCent() throws Exception {
+        String mismatch = "The payment amount does not match the total price of the order.";
+        pay(null, body(106L, "135.99", 1L))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(mismatch));
+        pay(null, body(106L, "136.005", 1L))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(mismatch));
+
+        pay(null, body(106L, "136.004", 1L)).andExpect(status().isOk());
+        assertEquals(13600, paymentRepository.findSummariesByOrderId(106L).get(0).getAmount());
+    }
+
+    @Test
+    void orderUpdatedWhileCachedIsValidatedAtItsCurrentVersion() throws Exception {
+        // The order is cached at version 1, then updated to version 2 and the eviction request is lost
+        when(orderServiceClient.getOrderById(107L)).thenReturn(order(107L, 1L, 13600), order(107L, 2L, 20000));
+        paymentService.getOrderById(107L);
+
+        pay(null, body(107L, "136.00", 1L))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("The payment amount does not match the total price of the order."));
+        pay(null, pinned(body(107L, "136.00", 1L), 1L))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("The order has changed since it was read."));
+        pay(null, pinned(body(107L, "200.00", 1L), 2L)).andExpect(status().isOk());
+
+        // The last payment was validated against the cached order of the version it named
+        verify(orderServiceClient, times(3)).getOrderById(107L);
+        assertEquals(20000, paymentRepository.findSummariesByOrderId(107L).get(0).getAmount());
+    }
+
+    @Test
+    void paidOrderIsNotReturnedToAnotherCustomer() throws Exception {
+        pay(null, body(104L, "136.00", 1L)).andExpect(status().isOk());
+
+        pay(null, body(104L, "136.00", 2L))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("The order has already been paid."))
+                .andExpect(jsonPath("$.paymentId").doesNotExist());
+        pay(null, body(104L, "136.00", 1L).replace("CARD", "PAYPAL"))
+                .andExpect(status().isBadRequest());
+        pay(null, body(104L, "136.00", 1L)).andExpect(status().isOk());
+    }
+
+    @Test
+    void concurrentDuplicateForSameOrderPaysOnce() throws Exception {
+        // Both requests find no payment before either saves one, so the unique constraint decides
+        CyclicBarrier bothLookedUp = new CyclicBarrier(2);
+        doAnswer(invocation -> {
+            bothLookedUp.await(10, TimeUnit.SECONDS);
+            return Optional.empty();
+        }).when(paymentRepository).findByOrderId(eq(105L));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<MvcResult>> results = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                results.add(executor.submit(() -> pay(null, body(105L, "136.00", 1L)).andReturn()));
+            }
+            List<Integer> statuses = new ArrayList<>();
+            for (Future<MvcResult> result : results) {
+                statuses.add(result.get(30, TimeUnit.SECONDS).getResponse().getStatus());
+            }
+            statuses.sort(null);
+            assertEquals(List.of(200, 409), statuses);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, paymentRepository.findSummariesByOrderId(105L).size());
+    }
+
+    private ResultActions pay(String idempotencyKey, String body) throws Exception {
+        MockHttpServletRequestBuilder request = post("/payments/process").contentType(MediaType.APPLICATION_JSON).content(body);
+        if (idempotencyKey != null) {
+            request.header("Idempotency-Key", idempotencyKey);
+        }
+        return mockMvc.perform(request);
+    }
+
+    private static OrderDto order(Long orderId, Long version, long totalPrice) {
+        OrderDto order = new OrderDto(1L, orderId, 3L, 1, totalPrice, totalPrice);
+        order.setVersion(version);
+        return order;
+    }
+
+    private static String pinned(String body, Long orderVersion) {
+        return body.replace("}", ",\"orderVersion\":" + orderVersion + "}");
+    }
+
+    private static String body(Long orderId, String amount, Long customerId) {
+        return "{\"orderId\":" + orderId + ",\"amount\":" + amount + ",\"paymentMethod\":\"CARD\",\"customerId\":" + customerId + "}";
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.paymentservice.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the JSON form of the amounts exchanged with clients and with the Order Service,
+ * using the application's ObjectMapper, which the Feign clients also decode with.
+ */
+@JsonTest
+class PaymentJsonTests {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void orderFromOrderServiceIsReadInCents() throws Exception {
+        // As written by the Order Service, including fields this service does not map
+        String json = "{\"customerId\":1,\"id\":7,\"productId\":3,\"quantity\":3,\"productPrice\":45.33,"
+                + "\"totalPrice\":135.99,\"status\":\"CREATED\",\"lines\":[],\"version\":2}";
+
+        OrderDto order = objectMapper.readValue(json, OrderDto.class);
+
+        assertEquals(4533, order.getProductPrice());
+        assertEquals(13599, order.getTotalPrice());
+    }
+
+    @Test
+    void paymentRequestAmountIsRoundedToCents() throws Exception {
+        assertEquals(13600, amountOf("136.00000000000003"));
+        assertEquals(13600, amountOf("135.99999999999997"));
+        assertEquals(13600, amountOf("\"136\""));
+        assertEquals(13601, amountOf("136.005"));
+    }
+
+    @Test
+    void paymentAmountIsWrittenWithTwoDecimals() throws Exception {
+        PaymentSummaryDto payment = new PaymentSummaryDto(1L, 7L, 13600, "PROCESSED", "CARD", LocalDateTime.now());
+
+        assertTrue(objectMapper.writeValueAsString(payment).contains("\"amount\":136.00"));
+    }
+
+    private long amountOf(String amount) throws Exception {
+        String json = "{\"orderId\":7,\"amount\":" + amount + ",\"paymentMethod\":\"CARD\",\"customerId\":1}";
+        return objectMapper.readValue(json, PaymentRequestDto.class).getAmount();
+    }
+}
@@ -3,6 +3,7 @@ package com.example.productservice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main class for the Product Service application.
@@ -12,6 +13,7 @@ import org.springframework.cloud.openfeign.EnableFeignClients;
  */
 @SpringBootApplication
 @EnableFeignClients  // Enables support for Feign clients in the application
+@EnableScheduling    // Enables the background refresh of the catalog snapshot
 public class ProductserviceApplication {
 
 	/**
@@ -0,0 +1,91 @@
+package com.example.productservice.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the reactive mode, active with the {@code reactive} profile.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    /**
+     * Serves requests with Netty.
+     * <p>
+     * Tomcat is also on the classpath for the servlet mode and would otherwise be picked as the
+     * reactive server, handling requests on its own thread pool instead of Netty's event loop.
+     * </p>
+     *
+     * @return The Netty server factory.
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Provides the message converters used by the Feign clients to decode responses.
+     * <p>
+     * Spring Boot only creates them for servlet applications, but the catalog snapshot is still
+     * loaded through the Feign client in the reactive mode.
+     * </p>
+     *
+     * @param converters The message converters available in the context.
+     * @return The message converters.
+     */
+    @Bean
+    public HttpMessageConverters feignHttpMessageConverters(ObjectProvider<HttpMessageConverter<?>> converters) {
+        return new HttpMessageConverters(converters.orderedStream().toList());
+    }
+
+    /**
+     * Creates the non-blocking client for the external product API.
+     * <p>
+     * The connection pool is sized like the Feign pool towards the same API, and the timeouts
+     * are those configured for the Feign client.
+     * </p>
+     *
+     * @param builder The builder configured by Spring Boot, which adds HTTP client metrics.
+     * @param catalogUrl Base URL of the external product API.
+     * @param maxConnections Maximum number of connections to the external product API.
+     * @param maxPendingAcquires Maximum number of requests waiting for a free connection.
+     * @param connectTimeout Connect timeout in milliseconds.
+     * @param readTimeout Response timeout in milliseconds.
+     * @return The WebClient.
+     */
+    @Bean
+    public WebClient catalogWebClient(WebClient.Builder builder,
+                                      @Value("${productservice.catalog.url}") String catalogUrl,
+                                      @Value("${productservice.catalog.max-connections:20}") int maxConnections,
+                                      @Value("${productservice.catalog.max-pending-acquires:10000}") int maxPendingAcquires,
+                                      @Value("${spring.cloud.openfeign.client.config.external-product-api.connect-timeout:2000}") int connectTimeout,
+                                      @Value("${spring.cloud.openfeign.client.config.external-product-api.read-timeout:5000}") long readTimeout) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("external-product-api")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxPendingAcquires)
+                .maxLifeTime(Duration.ofMinutes(5))
+                .metrics(true)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeout)
+                .responseTimeout(Duration.ofMillis(readTimeout));
+        return builder
+                .baseUrl(catalogUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.productservice.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.Duration;
+
+/**
+ * HTTP caching of the catalog reads, shared by {@link ProductController} and {@link ReactiveProductController}.
+ *
+ * Every read is tagged with the catalog version as an ETag and carries a Cache-Control header,
+ * so clients and proxies can reuse the response for {@code productservice.catalog.cache-max-age} and
+ * then revalidate it. A request whose If-None-Match lists the current version is answered with
+ * 304 Not Modified before the response body is built or serialized; the conditional headers are
+ * evaluated by the framework ({@link WebRequest#checkNotModified(String)} on the servlet stack,
+ * {@link ServerWebExchange#checkNotModified(String)} on the reactive one).
+ *
+ * The tag is weak: it identifies the catalog contents, not the bytes of one encoding, and Tomcat
+ * does not gzip responses carrying a strong tag.
+ */
+@Component
+class CatalogCaching {
+
+    private final CacheControl cacheControl;
+
+    /**
+     * Returns the ETag of a catalog version.
+     *
+     * @param version The catalog version.
+     * @return The weak entity tag, including its quotes.
+     */
+    private static String eTag(String version) {
+        return "W/\"" + version + "\"";
+    }
+
+    /**
+     * Constructor for injecting the cache lifetime.
+     *
+     * @param maxAge How long clients may reuse a catalog response without revalidating it.
+     */
+    @Autowired
+    CatalogCaching(@Value("${productservice.catalog.cache-max-age:PT1M}") Duration maxAge) {
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    /**
+     * Checks whether the client of a servlet request already holds the given version of the catalog.
+     * If so, the response status is set to 304 Not Modified.
+     *
+     * @param request The current request.
+     * @param version The current catalog version.
+     * @return true if the If-None-Match header matches the version, using the weak comparison.
+     */
+    boolean checkNotModified(WebRequest request, String version) {
+        return request.checkNotModified(eTag(version));
+    }
+
+    /**
+     * Checks whether the client of a reactive request already holds the given version of the catalog.
+     * If so, the response status is set to 304 Not Modified.
+     *
+     * @param exchange The current exchange.
+     * @param version The current catalog version.
+     * @return true if the If-None-Match header matches the version, using the weak comparison.
+     */
+    boolean checkNotModified(ServerWebExchange exchange, String version) {
+        return exchange.checkNotModified(eTag(version));
+    }
+
+    /**
+     * Builds a 304 Not Modified response, once {@code checkNotModified} has returned true.
+     *
+     * @return A response with the Cache-Control and Vary headers and no body; the ETag header
+     *         has already been set by {@code checkNotModified}.
+     */
+    <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING).build();
+    }
+
+    /**
+     * Starts a 200 OK response for the given version.
+     *
+     * @param version The current catalog version.
+     * @return A response builder with the ETag, Cache-Control and Vary headers set; the body may be compressed.
+     */
+    ResponseEntity.BodyBuilder ok(String version) {
+        return ResponseEntity.ok().eTag(eTag(version)).cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+    }
+}
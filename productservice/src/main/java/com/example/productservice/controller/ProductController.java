@@ -1,10 +1,13 @@
 package com.example.productservice.controller;
 
 import com.example.productservice.dto.ProductDto;
+import com.example.productservice.dto.ProductSearchResultDto;
 import com.example.productservice.service.ProductService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -12,45 +15,122 @@ import java.util.List;
  * Controller for handling HTTP requests related to products.
  *
  * This class is responsible for managing the CRUD operations related to products.
- * Currently, it only supports read operations: retrieving a single product and retrieving all products.
+ * Currently, it only supports read operations: retrieving a single product, retrieving all products
+ * and searching the catalog.
+ *
+ * Responses are tagged with the catalog version so that clients polling the catalog can revalidate
+ * them with If-None-Match and get an empty 304 Not Modified while the catalog is unchanged
+ * (see {@link CatalogCaching}).
+ *
+ * Used in the default servlet mode; the reactive profile replaces it with {@link ReactiveProductController}.
  */
 @RestController
 @RequestMapping("/products")
+@Profile("!reactive")
 public class ProductController {
 
     // Dependency injection of the ProductService via constructor
     private final ProductService productService;
+    private final CatalogCaching catalogCaching;
 
     /**
-     * Constructor for injecting ProductService dependency.
+     * Constructor for injecting ProductService and CatalogCaching dependencies.
      *
      * @param productService The service layer component responsible for business logic.
+     * @param catalogCaching The ETag and Cache-Control handling of catalog reads.
      */
     @Autowired
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, CatalogCaching catalogCaching) {
         this.productService = productService;
+        this.catalogCaching = catalogCaching;
     }
 
     /**
      * Endpoint to retrieve a product by its ID.
      *
      * @param productId The ID of the product to retrieve.
-     * @return ResponseEntity containing the product details or a 404 Not Found status if the product does not exist.
+     * @param webRequest The current request, checked for If-None-Match.
+     * @return ResponseEntity containing the product details, a 304 Not Modified status if the client's copy
+     *         is current, or a 404 Not Found status if the product does not exist.
      */
     @GetMapping("/{productId}")
-    public ResponseEntity<ProductDto> getProduct(@PathVariable Long productId) {
+    public ResponseEntity<ProductDto> getProduct(@PathVariable Long productId, WebRequest webRequest) {
+        String version = productService.getCatalogVersion();
+        if (catalogCaching.checkNotModified(webRequest, version)) {
+            return catalogCaching.notModified();
+        }
         ProductDto product = productService.getProduct(productId);
-        return ResponseEntity.ok(product);
+        return catalogCaching.ok(version).body(product);
     }
 
     /**
      * Endpoint to retrieve all products.
      *
-     * @return ResponseEntity containing a list of all products.
+     * @param webRequest The current request, checked for If-None-Match.
+     * @return ResponseEntity containing a list of all products, or a 304 Not Modified status if the
+     *         client's copy is current.
      */
     @GetMapping
-    public ResponseEntity<List<ProductDto>> getAllProducts() {
+    public ResponseEntity<List<ProductDto>> getAllProducts(WebRequest webRequest) {
+        String version = productService.getCatalogVersion();
+        if (catalogCaching.checkNotModified(webRequest, version)) {
+            return catalogCaching.notModified();
+        }
         List<ProductDto> products = productService.getAllProducts();
-        return ResponseEntity.ok(products);
+        return catalogCaching.ok(version).body(products);
+    }
+
+    /**
+     * Endpoint to search the catalog.
+     *
+     * Lets clients such as the storefront filter the catalog on the server and page through
+     * the results instead of downloading every product. All parameters are optional and combined.
+     *
+     * @param q Words that must all appear in the title or description (e.g. {@code /products/search?q=cotton+jacket}).
+     * @param category Category to restrict the results to, ignoring case.
+     * @param minPrice Lowest price, inclusive.
+     * @param maxPrice Highest price, inclusive.
+     * @param offset Number of matching products to skip.
+     * @param limit Maximum number of products to return (at most {@link ProductService#MAX_SEARCH_LIMIT}).
+     * @param webRequest The current request, checked for If-None-Match.
+     * @return ResponseEntity containing the page of matching products, in catalog order, and the total number of matches,
+     *         or a 304 Not Modified status if the client's copy is current.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ProductSearchResultDto> searchProducts(@RequestParam(required = false) String q,
+                                                                 @RequestParam(required = false) String category,
+                                                                 @RequestParam(required = false) Double minPrice,
+                                                                 @RequestParam(required = false) Double maxPrice,
+                                                                 @RequestParam(defaultValue = "0") int offset,
+                                                                 @RequestParam(defaultValue = "" + ProductService.DEFAULT_SEARCH_LIMIT) int limit,
+                                                                 WebRequest webRequest) {
+        String version = productService.getCatalogVersion();
+        if (catalogCaching.checkNotModified(webRequest, version)) {
+            return catalogCaching.notModified();
+        }
+        ProductSearchResultDto result = productService.searchProducts(q, category, minPrice, maxPrice, offset, limit);
+        return catalogCaching.ok(version).body(result);
+    }
+
+    /**
+     * Endpoint to retrieve several products in a single request.
+     *
+     * Callers such as the order service use this to resolve the prices of many products
+     * in one round-trip instead of issuing one request per product.
+     *
+     * @param ids The IDs of the products to retrieve (e.g. {@code /products?ids=1,2,3}).
+     * @param webRequest The current request, checked for If-None-Match.
+     * @return ResponseEntity containing the products found, or a 304 Not Modified status if the client's copy
+     *         is current; unknown IDs are omitted.
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<ProductDto>> getProductsByIds(@RequestParam("ids") List<Long> ids,
+                                                             WebRequest webRequest) {
+        String version = productService.getCatalogVersion();
+        if (catalogCaching.checkNotModified(webRequest, version)) {
+            return catalogCaching.notModified();
+        }
+        List<ProductDto> products = productService.getProductsByIds(ids);
+        return catalogCaching.ok(version).body(products);
     }
 }
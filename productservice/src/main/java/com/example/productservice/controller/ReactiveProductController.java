@@ -0,0 +1,112 @@
+package com.example.productservice.controller;
+
+import com.example.productservice.dto.ProductDto;
+import com.example.productservice.dto.ProductSearchResultDto;
+import com.example.productservice.service.ProductService;
+import com.example.productservice.service.ReactiveProductService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Reactive counterpart of {@link ProductController}, used in the reactive mode.
+ *
+ * Exposes the same endpoints with the same responses, returning Mono and Flux so that
+ * requests waiting on the external product API do not hold a thread. Conditional reads are
+ * handled the same way: a 304 Not Modified is returned without subscribing to the body.
+ */
+@RestController
+@RequestMapping("/products")
+@Profile("reactive")
+public class ReactiveProductController {
+
+    private final ReactiveProductService reactiveProductService;
+    private final CatalogCaching catalogCaching;
+
+    /**
+     * Constructor for injecting ReactiveProductService and CatalogCaching dependencies.
+     *
+     * @param reactiveProductService The reactive service layer component.
+     * @param catalogCaching The ETag and Cache-Control handling of catalog reads.
+     */
+    @Autowired
+    public ReactiveProductController(ReactiveProductService reactiveProductService, CatalogCaching catalogCaching) {
+        this.reactiveProductService = reactiveProductService;
+        this.catalogCaching = catalogCaching;
+    }
+
+    /**
+     * Endpoint to retrieve a product by its ID.
+     *
+     * @param productId The ID of the product to retrieve.
+     * @param exchange The current exchange, checked for If-None-Match.
+     * @return A Mono emitting the response with the product details, or a 304 Not Modified response.
+     */
+    @GetMapping("/{productId}")
+    public Mono<ResponseEntity<ProductDto>> getProduct(@PathVariable Long productId,
+                                                       ServerWebExchange exchange) {
+        return reactiveProductService.getCatalogVersion().flatMap(version ->
+                catalogCaching.checkNotModified(exchange, version)
+                        ? Mono.just(catalogCaching.<ProductDto>notModified())
+                        : reactiveProductService.getProduct(productId)
+                                .map(product -> catalogCaching.ok(version).body(product)));
+    }
+
+    /**
+     * Endpoint to retrieve all products.
+     *
+     * @param exchange The current exchange, checked for If-None-Match.
+     * @return A Mono emitting the response with a Flux of all products, serialized as a JSON array,
+     *         or a 304 Not Modified response.
+     */
+    @GetMapping
+    public Mono<ResponseEntity<Flux<ProductDto>>> getAllProducts(ServerWebExchange exchange) {
+        return reactiveProductService.getCatalogVersion().map(version ->
+                catalogCaching.checkNotModified(exchange, version)
+                        ? catalogCaching.notModified()
+                        : catalogCaching.ok(version).body(reactiveProductService.getAllProducts()));
+    }
+
+    /**
+     * Endpoint to search the catalog.
+     *
+     * @see ProductController#searchProducts(String, String, Double, Double, int, int, WebRequest)
+     */
+    @GetMapping("/search")
+    public Mono<ResponseEntity<ProductSearchResultDto>> searchProducts(@RequestParam(required = false) String q,
+                                                                       @RequestParam(required = false) String category,
+                                                                       @RequestParam(required = false) Double minPrice,
+                                                                       @RequestParam(required = false) Double maxPrice,
+                                                                       @RequestParam(defaultValue = "0") int offset,
+                                                                       @RequestParam(defaultValue = "" + ProductService.DEFAULT_SEARCH_LIMIT) int limit,
+                                                                       ServerWebExchange exchange) {
+        return reactiveProductService.getCatalogVersion().flatMap(version ->
+                catalogCaching.checkNotModified(exchange, version)
+                        ? Mono.just(catalogCaching.<ProductSearchResultDto>notModified())
+                        : reactiveProductService.searchProducts(q, category, minPrice, maxPrice, offset, limit)
+                                .map(result -> catalogCaching.ok(version).body(result)));
+    }
+
+    /**
+     * Endpoint to retrieve several products in a single request.
+     *
+     * @param ids The IDs of the products to retrieve (e.g. {@code /products?ids=1,2,3}).
+     * @param exchange The current exchange, checked for If-None-Match.
+     * @return A Mono emitting the response with a Flux of the products found, or a 304 Not Modified
+     *         response; unknown IDs are omitted.
+     */
+    @GetMapping(params = "ids")
+    public Mono<ResponseEntity<Flux<ProductDto>>> getProductsByIds(@RequestParam("ids") List<Long> ids,
+                                                                   ServerWebExchange exchange) {
+        return reactiveProductService.getCatalogVersion().map(version ->
+                catalogCaching.checkNotModified(exchange, version)
+                        ? catalogCaching.notModified()
+                        : catalogCaching.ok(version).body(reactiveProductService.getProductsByIds(ids)));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.productservice.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for one page of a product search.
+ *
+ * Holds the products of the requested page together with the total number of matches,
+ * so that clients can page through the results without fetching the whole catalog.
+ */
+@Data
+public class ProductSearchResultDto {
+
+    /**
+     * The products of the page, in catalog order.
+     */
+    private List<ProductDto> products;
+
+    /**
+     * The total number of products matching the search, across all pages.
+     */
+    private int total;
+
+    /**
+     * The position of the first product of the page among all matches.
+     */
+    private int offset;
+
+    /**
+     * The maximum number of products per page that was applied.
+     */
+    private int limit;
+
+    /**
+     * Constructor for creating a ProductSearchResultDto with specified fields.
+     *
+     * @param products The products of the page.
+     * @param total The total number of matching products.
+     * @param offset The position of the first product of the page among all matches.
+     * @param limit The maximum number of products per page.
+     */
+    public ProductSearchResultDto(List<ProductDto> products, int total, int offset, int limit) {
+        this.products = products;
+        this.total = total;
+        this.offset = offset;
+        this.limit = limit;
+    }
+}
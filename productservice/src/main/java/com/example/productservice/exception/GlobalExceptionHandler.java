@@ -5,6 +5,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.reactive.function.client.WebClientException;
 
 /**
  * Global exception handler for managing application-wide exceptions.
@@ -37,6 +38,18 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>("Error communicating with external API: " + ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
     }
 
+    /**
+     * Handles WebClientException thrown by the reactive client when there is an error communicating
+     * with an external API.
+     *
+     * @param ex The exception instance containing details about the WebClient error.
+     * @return ResponseEntity with a 503 Service Unavailable status and a generic error message.
+     */
+    @ExceptionHandler(WebClientException.class)
+    public ResponseEntity<String> handleWebClientException(WebClientException ex) {
+        return new ResponseEntity<>("Error communicating with external API: " + ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     /**
      * Handles any other unforeseen exceptions that are not specifically handled.
      *
@@ -12,7 +12,7 @@ import org.springframework.web.bind.annotation.PathVariable;
  * product information. Feign clients simplify the process of making HTTP requests
  * and handling responses.
  */
-@FeignClient(name = "external-product-api", url = "https://fakestoreapi.com")
+@FeignClient(name = "external-product-api")
 public interface ProductServiceProxy {
 
     /**
@@ -0,0 +1,45 @@
+package com.example.productservice.proxy;
+
+import com.example.productservice.dto.ProductDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking client for the external product API, used in the reactive mode.
+ *
+ * Counterpart of {@link ProductServiceProxy}: requests are sent with a WebClient and the
+ * calling thread is released while the response is awaited.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveProductClient {
+
+    private final WebClient catalogWebClient;
+
+    /**
+     * Constructor for injecting the WebClient of the external product API.
+     *
+     * @param catalogWebClient The WebClient configured with the base URL of the external product API.
+     */
+    @Autowired
+    public ReactiveProductClient(@Qualifier("catalogWebClient") WebClient catalogWebClient) {
+        this.catalogWebClient = catalogWebClient;
+    }
+
+    /**
+     * Retrieves a product by its ID from the external API.
+     *
+     * @param productId The ID of the product to retrieve.
+     * @return A Mono emitting the product, or completing empty if the API returned no product.
+     */
+    public Mono<ProductDto> getProduct(Long productId) {
+        return catalogWebClient.get()
+                .uri("/products/{productId}", productId)
+                .retrieve()
+                .bodyToMono(ProductDto.class);
+    }
+}
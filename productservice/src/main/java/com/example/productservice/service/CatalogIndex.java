@@ -0,0 +1,223 @@
+package com.example.productservice.service;
+
+import com.example.productservice.dto.ProductDto;
+import com.example.productservice.dto.ProductSearchResultDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Search index over the products of a catalog snapshot.
+ *
+ * Products are identified by their position in the snapshot's product list. The index holds
+ * an inverted index from every word of a product's title and description to the positions of
+ * the products containing it, the positions of the products of each category, and the positions
+ * of all priced products sorted by price. Position lists are kept in ascending order so that
+ * they can be intersected in linear time and results come out in catalog order.
+ *
+ * The index is built once per snapshot and never modified afterwards, so it can be read
+ * concurrently without locking.
+ */
+final class CatalogIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int[] NONE = new int[0];
+
+    private final List<ProductDto> products;
+    private final Map<String, int[]> productsByToken;
+    private final Map<String, int[]> productsByCategory;
+
+    /**
+     * Positions of the priced products, sorted by price.
+     */
+    private final int[] productsByPrice;
+
+    /**
+     * Prices of the products in {@link #productsByPrice}, in the same order, for binary search.
+     */
+    private final double[] sortedPrices;
+
+    /**
+     * Builds the index of a product list.
+     *
+     * @param products The products to index; the list must not change afterwards.
+     */
+    CatalogIndex(List<ProductDto> products) {
+        this.products = products;
+        Map<String, List<Integer>> byToken = new HashMap<>();
+        Map<String, List<Integer>> byCategory = new HashMap<>();
+        List<Integer> priced = new ArrayList<>(products.size());
+        for (int position = 0; position < products.size(); position++) {
+            ProductDto product = products.get(position);
+            Set<String> tokens = tokenize(product.getTitle());
+            tokens.addAll(tokenize(product.getDescription()));
+            for (String token : tokens) {
+                byToken.computeIfAbsent(token, key -> new ArrayList<>()).add(position);
+            }
+            if (product.getCategory() != null) {
+                byCategory.computeIfAbsent(normalize(product.getCategory()), key -> new ArrayList<>()).add(position);
+            }
+            if (product.getPrice() != null) {
+                priced.add(position);
+            }
+        }
+        this.productsByToken = toArrays(byToken);
+        this.productsByCategory = toArrays(byCategory);
+
+        priced.sort(Comparator.comparingDouble(position -> products.get(position).getPrice()));
+        this.productsByPrice = priced.stream().mapToInt(Integer::intValue).toArray();
+        this.sortedPrices = priced.stream().mapToDouble(position -> products.get(position).getPrice()).toArray();
+    }
+
+    /**
+     * Searches the indexed products.
+     *
+     * All criteria are optional and combined: a product matches if its title or description
+     * contains every word of the query, it belongs to the category (ignoring case) and its
+     * price lies within the range. The most selective criteria are applied first.
+     *
+     * @param query Words to look for, or null to match any text.
+     * @param category Category to restrict the results to, or null for all categories.
+     * @param minPrice Lowest price (inclusive), or null for no lower bound.
+     * @param maxPrice Highest price (inclusive), or null for no upper bound.
+     * @param offset Number of matching products to skip; must not be negative.
+     * @param limit Maximum number of products to return; must be positive.
+     * @return The requested page of matching products, in catalog order, and the total number of matches.
+     */
+    ProductSearchResultDto search(String query, String category, Double minPrice, Double maxPrice,
+                                  int offset, int limit) {
+        List<int[]> criteria = new ArrayList<>();
+        for (String token : tokenize(query)) {
+            criteria.add(productsByToken.getOrDefault(token, NONE));
+        }
+        if (category != null && !category.isBlank()) {
+            criteria.add(productsByCategory.getOrDefault(normalize(category), NONE));
+        }
+        if (minPrice != null || maxPrice != null) {
+            criteria.add(priceRange(minPrice != null ? minPrice : Double.NEGATIVE_INFINITY,
+                    maxPrice != null ? maxPrice : Double.POSITIVE_INFINITY));
+        }
+
+        int[] matches;
+        if (criteria.isEmpty()) {
+            matches = null; // every product matches
+        } else {
+            criteria.sort(Comparator.comparingInt(positions -> positions.length));
+            matches = criteria.get(0);
+            for (int i = 1; i < criteria.size() && matches.length > 0; i++) {
+                matches = intersect(matches, criteria.get(i));
+            }
+        }
+
+        int total = (matches != null) ? matches.length : products.size();
+        int from = Math.min(offset, total);
+        int to = Math.min(from + limit, total);
+        List<ProductDto> page = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            page.add(products.get(matches != null ? matches[i] : i));
+        }
+        return new ProductSearchResultDto(page, total, offset, limit);
+    }
+
+    /**
+     * Returns the positions of the products priced within a range.
+     *
+     * @param minPrice Lowest price (inclusive).
+     * @param maxPrice Highest price (inclusive).
+     * @return The positions, in ascending order.
+     */
+    private int[] priceRange(double minPrice, double maxPrice) {
+        if (minPrice > maxPrice) {
+            return NONE;
+        }
+        int from = firstIndexAbove(minPrice, false);
+        int to = firstIndexAbove(maxPrice, true);
+        int[] positions = Arrays.copyOfRange(productsByPrice, from, to);
+        Arrays.sort(positions);
+        return positions;
+    }
+
+    /**
+     * Binary search over the sorted prices.
+     *
+     * @param price The price to look for.
+     * @param inclusive Whether prices equal to {@code price} count as below it.
+     * @return The index of the first price greater than (or, if not inclusive, equal to) {@code price}.
+     */
+    private int firstIndexAbove(double price, boolean inclusive) {
+        int low = 0;
+        int high = sortedPrices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            boolean below = inclusive ? sortedPrices[mid] <= price : sortedPrices[mid] < price;
+            if (below) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Intersects two ascending position lists.
+     *
+     * @param a The first list.
+     * @param b The second list.
+     * @return The positions present in both lists, in ascending order.
+     */
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int size = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Splits a text into distinct lower-case words.
+     *
+     * @param text The text to split, possibly null.
+     * @return The words of the text, in order of first appearance.
+     */
+    private static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text != null) {
+            for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+                if (!token.isEmpty()) {
+                    tokens.add(token);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private static String normalize(String category) {
+        return category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static Map<String, int[]> toArrays(Map<String, List<Integer>> lists) {
+        Map<String, int[]> arrays = new HashMap<>(lists.size() * 2);
+        lists.forEach((key, positions) -> arrays.put(key, positions.stream().mapToInt(Integer::intValue).toArray()));
+        return arrays;
+    }
+}
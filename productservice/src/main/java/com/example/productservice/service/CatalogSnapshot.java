@@ -0,0 +1,240 @@
+package com.example.productservice.service;
+
+import com.example.productservice.dto.ProductDto;
+import com.example.productservice.dto.ProductSearchResultDto;
+import com.example.productservice.proxy.ProductServiceProxy;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory snapshot of the external product catalog.
+ *
+ * The full product list is loaded from the external API once and indexed by ID, so reads
+ * are served locally instead of being proxied upstream. The snapshot is refreshed in the
+ * background on a fixed schedule; if a refresh fails the previous snapshot keeps being
+ * served, so a slow or unavailable upstream does not affect readers once the first load
+ * has succeeded. Each snapshot carries a {@link CatalogIndex} built at load time, so searches
+ * are answered without scanning the catalog.
+ *
+ * Each snapshot also has a version, the SHA-256 digest of the catalog serialized as JSON, which
+ * changes whenever a refresh brings different products and is the same on every instance serving
+ * the same catalog. It is used as the entity tag of the catalog reads.
+ *
+ * The number of products in the snapshot and its age are published to Micrometer as
+ * {@code catalog.products} and {@code catalog.age}.
+ */
+@Component
+public class CatalogSnapshot {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshot.class);
+
+    private final ProductServiceProxy productServiceProxy;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Serializes the initial load. A lock rather than a synchronized block, so that virtual
+     * threads waiting on the remote call do not pin their carrier thread.
+     */
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    /**
+     * The current snapshot, or null until the catalog has been loaded successfully once.
+     * Replaced atomically on each refresh.
+     */
+    private volatile Snapshot snapshot;
+
+    /**
+     * Constructor for injecting the ProductServiceProxy dependency.
+     *
+     * @param productServiceProxy The Feign client for communicating with the external product API.
+     * @param objectMapper The mapper used to serialize the catalog when computing its version.
+     * @param meterRegistry Registry the snapshot gauges are published to.
+     */
+    @Autowired
+    public CatalogSnapshot(ProductServiceProxy productServiceProxy, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.productServiceProxy = productServiceProxy;
+        this.objectMapper = objectMapper;
+        Gauge.builder("catalog.products", this, CatalogSnapshot::size)
+                .description("Number of products in the catalog snapshot")
+                .register(meterRegistry);
+        Gauge.builder("catalog.age", this, CatalogSnapshot::ageSeconds)
+                .description("Time since the catalog snapshot was loaded")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns all products of the catalog.
+     *
+     * @return An unmodifiable List of ProductDto, in the order returned by the external API.
+     */
+    public List<ProductDto> getProducts() {
+        return current().products();
+    }
+
+    /**
+     * Returns a product of the catalog by its ID.
+     *
+     * @param productId The ID of the product to retrieve.
+     * @return The ProductDto, or null if the product is not part of the snapshot.
+     */
+    public ProductDto getProduct(Long productId) {
+        return current().byId().get(productId);
+    }
+
+    /**
+     * Searches the catalog by text, category and price range.
+     *
+     * @param query Words that must all appear in the title or description, or null to match any text.
+     * @param category Category to restrict the results to (ignoring case), or null for all categories.
+     * @param minPrice Lowest price (inclusive), or null for no lower bound.
+     * @param maxPrice Highest price (inclusive), or null for no upper bound.
+     * @param offset Number of matching products to skip.
+     * @param limit Maximum number of products to return.
+     * @return The requested page of matching products and the total number of matches.
+     */
+    public ProductSearchResultDto search(String query, String category, Double minPrice, Double maxPrice,
+                                         int offset, int limit) {
+        return current().index().search(query, category, minPrice, maxPrice, offset, limit);
+    }
+
+    /**
+     * Returns the version of the catalog.
+     *
+     * @return A string identifying the contents of the current snapshot.
+     */
+    public String getVersion() {
+        return current().version();
+    }
+
+    /**
+     * Returns the time at which the current snapshot was loaded.
+     *
+     * @return The load time, or null if the catalog has not been loaded yet.
+     */
+    public Instant getLoadedAt() {
+        Snapshot current = snapshot;
+        return (current != null) ? current.loadedAt() : null;
+    }
+
+    /**
+     * Reloads the catalog from the external API.
+     *
+     * Runs periodically in the background. Failures are logged and the previous snapshot
+     * is kept, so clients keep receiving (possibly stale) data while the upstream is down.
+     */
+    @Scheduled(fixedDelayString = "${productservice.catalog.refresh-interval:PT5M}",
+            initialDelayString = "${productservice.catalog.initial-delay:PT0S}")
+    public void refresh() {
+        try {
+            snapshot = load();
+        } catch (RuntimeException e) {
+            log.warn("Catalog refresh failed, serving snapshot loaded at {}: {}", getLoadedAt(), e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the number of products in the snapshot, without triggering a load.
+     *
+     * @return The number of products, or 0 if the catalog has not been loaded yet.
+     */
+    private double size() {
+        Snapshot current = snapshot;
+        return (current != null) ? current.products().size() : 0;
+    }
+
+    /**
+     * Returns the age of the snapshot, without triggering a load.
+     *
+     * @return Seconds since the snapshot was loaded, or NaN if the catalog has not been loaded yet.
+     */
+    private double ageSeconds() {
+        Instant loadedAt = getLoadedAt();
+        return (loadedAt != null) ? Duration.between(loadedAt, Instant.now()).toMillis() / 1000.0 : Double.NaN;
+    }
+
+    /**
+     * Returns the current snapshot, loading it synchronously if no load has succeeded yet.
+     *
+     * @return The current snapshot.
+     */
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            loadLock.lock();
+            try {
+                current = snapshot;
+                if (current == null) {
+                    current = load();
+                    snapshot = current;
+                }
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Fetches the full product list from the external API and indexes it by ID and for search.
+     *
+     * @return A new snapshot of the catalog.
+     */
+    private Snapshot load() {
+        ProductDto[] products = productServiceProxy.getAllProducts();
+        List<ProductDto> list = (products != null) ? List.copyOf(Arrays.asList(products)) : List.of();
+        Map<Long, ProductDto> byId = new HashMap<>(list.size() * 2);
+        for (ProductDto product : list) {
+            if (product.getId() != null) {
+                byId.put(product.getId(), product);
+            }
+        }
+        return new Snapshot(list, Map.copyOf(byId), new CatalogIndex(list), versionOf(list), Instant.now());
+    }
+
+    /**
+     * Derives the version of a catalog from its contents.
+     *
+     * @param products All products of the catalog, in upstream order.
+     * @return The SHA-256 digest of the products serialized as JSON, in hexadecimal.
+     */
+    private String versionOf(List<ProductDto> products) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(products);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not compute the catalog version", e);
+        }
+    }
+
+    /**
+     * Immutable view of the catalog at a point in time.
+     *
+     * @param products All products, in upstream order.
+     * @param byId The same products indexed by ID.
+     * @param index The search index over the products.
+     * @param version The version of the catalog, derived from the products.
+     * @param loadedAt The time at which the catalog was loaded.
+     */
+    private record Snapshot(List<ProductDto> products, Map<Long, ProductDto> byId, CatalogIndex index,
+                            String version, Instant loadedAt) {
+    }
+}
@@ -1,33 +1,50 @@
 package com.example.productservice.service;
 
 import com.example.productservice.dto.ProductDto;
+import com.example.productservice.dto.ProductSearchResultDto;
 import com.example.productservice.proxy.ProductServiceProxy;
+import feign.FeignException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Service class for managing product operations.
  *
  * This class acts as a bridge between the controller layer and the external product API.
- * It handles the business logic related to product operations and communicates with the
- * external API using the ProductServiceProxy.
+ * It handles the business logic related to product operations. Reads are served from the
+ * {@link CatalogSnapshot}; the external API is only called directly through the
+ * ProductServiceProxy for products that are not part of the snapshot yet.
  */
 @Service
 public class ProductService {
 
+    /**
+     * Number of products returned per search page when the client does not ask for a size.
+     */
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+
+    /**
+     * Upper bound for the number of products returned per search page.
+     */
+    public static final int MAX_SEARCH_LIMIT = 100;
+
     private final ProductServiceProxy productServiceProxy;
+    private final CatalogSnapshot catalogSnapshot;
 
     /**
-     * Constructor for injecting the ProductServiceProxy dependency.
+     * Constructor for injecting the ProductServiceProxy and CatalogSnapshot dependencies.
      *
      * @param productServiceProxy The Feign client for communicating with the external product API.
+     * @param catalogSnapshot The in-memory snapshot of the product catalog.
      */
     @Autowired
-    public ProductService(ProductServiceProxy productServiceProxy) {
+    public ProductService(ProductServiceProxy productServiceProxy, CatalogSnapshot catalogSnapshot) {
         this.productServiceProxy = productServiceProxy;
+        this.catalogSnapshot = catalogSnapshot;
     }
 
     /**
@@ -37,7 +54,12 @@ public class ProductService {
      * @return A ProductDto representing the details of the requested product.
      */
     public ProductDto getProduct(Long productId) {
-        return productServiceProxy.getProduct(productId);
+        ProductDto product = catalogSnapshot.getProduct(productId);
+        if (product == null) {
+            // Not in the snapshot: the product may have been added since the last refresh
+            product = productServiceProxy.getProduct(productId);
+        }
+        return product;
     }
 
     /**
@@ -46,8 +68,77 @@ public class ProductService {
      * @return A List of ProductDto representing all available products.
      */
     public List<ProductDto> getAllProducts() {
-        // Convert array to list for easier handling
-        return Arrays.asList(productServiceProxy.getAllProducts());
+        return catalogSnapshot.getProducts();
+    }
+
+    /**
+     * Returns the version of the catalog, which changes whenever its contents change.
+     *
+     * @return The catalog version.
+     */
+    public String getCatalogVersion() {
+        return catalogSnapshot.getVersion();
+    }
+
+    /**
+     * Searches the catalog by text, category and price range.
+     *
+     * The search is answered from the index of the catalog snapshot, so no upstream request is made.
+     *
+     * @param query Words that must all appear in the title or description, or null to match any text.
+     * @param category Category to restrict the results to (ignoring case), or null for all categories.
+     * @param minPrice Lowest price (inclusive), or null for no lower bound.
+     * @param maxPrice Highest price (inclusive), or null for no upper bound.
+     * @param offset Number of matching products to skip; negative values are treated as 0.
+     * @param limit Maximum number of products to return; clamped to [1, {@link #MAX_SEARCH_LIMIT}].
+     * @return A ProductSearchResultDto with the requested page and the total number of matches.
+     */
+    public ProductSearchResultDto searchProducts(String query, String category, Double minPrice, Double maxPrice,
+                                                 int offset, int limit) {
+        return catalogSnapshot.search(query, category, minPrice, maxPrice,
+                Math.max(0, offset), Math.max(1, Math.min(limit, MAX_SEARCH_LIMIT)));
     }
-}
 
+    /**
+     * Retrieves the products matching the given IDs.
+     *
+     * Products are looked up in the catalog snapshot, so no upstream request is made for the IDs
+     * it contains regardless of their number. IDs missing from the snapshot are fetched from the
+     * external API one by one, like {@link #getProduct(Long)} does, since those products may have
+     * been added since the last refresh.
+     *
+     * @param productIds The IDs of the products to retrieve.
+     * @return A List of ProductDto for the IDs that exist, in request order; unknown IDs are skipped.
+     */
+    public List<ProductDto> getProductsByIds(List<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return List.of();
+        }
+        List<ProductDto> products = new ArrayList<>(productIds.size());
+        for (Long productId : productIds.stream().filter(Objects::nonNull).distinct().toList()) {
+            ProductDto product = catalogSnapshot.getProduct(productId);
+            if (product == null) {
+                // Not in the snapshot: the product may have been added since the last refresh
+                product = fetchIfExists(productId);
+            }
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    /**
+     * Fetches a product from the external API.
+     *
+     * @param productId The ID of the product to retrieve.
+     * @return The product, or null if the external API does not know it.
+     */
+    private ProductDto fetchIfExists(Long productId) {
+        try {
+            return productServiceProxy.getProduct(productId);
+        } catch (FeignException.NotFound e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.productservice.service;
+
+import com.example.productservice.dto.ProductDto;
+import com.example.productservice.dto.ProductSearchResultDto;
+import com.example.productservice.proxy.ReactiveProductClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+/**
+ * Reactive counterpart of {@link ProductService}, used in the reactive mode.
+ *
+ * Reads are served from the {@link CatalogSnapshot} without blocking; products that are not
+ * part of the snapshot yet are fetched with the non-blocking {@link ReactiveProductClient}.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveProductService {
+
+    private final ReactiveProductClient reactiveProductClient;
+    private final CatalogSnapshot catalogSnapshot;
+
+    /**
+     * Constructor for injecting the ReactiveProductClient and CatalogSnapshot dependencies.
+     *
+     * @param reactiveProductClient The non-blocking client for the external product API.
+     * @param catalogSnapshot The in-memory snapshot of the product catalog.
+     */
+    @Autowired
+    public ReactiveProductService(ReactiveProductClient reactiveProductClient, CatalogSnapshot catalogSnapshot) {
+        this.reactiveProductClient = reactiveProductClient;
+        this.catalogSnapshot = catalogSnapshot;
+    }
+
+    /**
+     * Retrieves a product by its ID.
+     *
+     * @param productId The ID of the product to retrieve.
+     * @return A Mono emitting the product, or completing empty if it does not exist.
+     */
+    public Mono<ProductDto> getProduct(Long productId) {
+        return fromSnapshot(() -> catalogSnapshot.getProduct(productId))
+                // Not in the snapshot: the product may have been added since the last refresh
+                .switchIfEmpty(Mono.defer(() -> reactiveProductClient.getProduct(productId)));
+    }
+
+    /**
+     * Retrieves all products.
+     *
+     * @return A Flux of all available products.
+     */
+    public Flux<ProductDto> getAllProducts() {
+        return fromSnapshot(catalogSnapshot::getProducts).flatMapIterable(products -> products);
+    }
+
+    /**
+     * Retrieves the products matching the given IDs.
+     *
+     * IDs missing from the snapshot are fetched from the external API, concurrently.
+     *
+     * @param productIds The IDs of the products to retrieve.
+     * @return A Flux of the products for the IDs that exist, in request order; unknown IDs are skipped.
+     * @see ProductService#getProductsByIds(List)
+     */
+    public Flux<ProductDto> getProductsByIds(List<Long> productIds) {
+        if (productIds == null || productIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return Flux.fromStream(productIds.stream().filter(Objects::nonNull).distinct())
+                .flatMapSequential(productId -> getProduct(productId)
+                        .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty()));
+    }
+
+    /**
+     * Returns the version of the catalog, which changes whenever its contents change.
+     *
+     * @return A Mono emitting the catalog version.
+     */
+    public Mono<String> getCatalogVersion() {
+        return fromSnapshot(catalogSnapshot::getVersion);
+    }
+
+    /**
+     * Searches the catalog by text, category and price range.
+     *
+     * @see ProductService#searchProducts(String, String, Double, Double, int, int)
+     */
+    public Mono<ProductSearchResultDto> searchProducts(String query, String category, Double minPrice, Double maxPrice,
+                                                       int offset, int limit) {
+        return fromSnapshot(() -> catalogSnapshot.search(query, category, minPrice, maxPrice, Math.max(0, offset),
+                Math.max(1, Math.min(limit, ProductService.MAX_SEARCH_LIMIT))));
+    }
+
+    /**
+     * Reads from the catalog snapshot.
+     *
+     * Until the first load of the catalog has succeeded a read blocks while the catalog is fetched,
+     * so it is then moved off the event loop.
+     *
+     * @param read The read to perform.
+     * @return A Mono emitting the result of the read, or completing empty if it is null.
+     */
+    private <T> Mono<T> fromSnapshot(Callable<T> read) {
+        Mono<T> result = Mono.fromCallable(read);
+        return (catalogSnapshot.getLoadedAt() != null) ? result : result.subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.productservice;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stub server standing in for the external product API in tests.
+ * <p>
+ * {@code GET /products} returns the current catalog and {@code GET /products/{id}} a product added with
+ * {@link #addProduct}, or 404. While the stub is down every request gets 503.
+ * One server is started per JVM and shared by the tests, which call {@link #reset} before each test.
+ * </p>
+ */
+public final class StubProductApi {
+
+    /**
+     * The shared stub server.
+     */
+    public static final StubProductApi INSTANCE = new StubProductApi();
+
+    private final HttpServer server;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final Map<String, String> products = new ConcurrentHashMap<>();
+    private volatile String catalog = "[]";
+    private volatile boolean down;
+
+    private StubProductApi() {
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.createContext("/products", this::handle);
+        server.start();
+    }
+
+    /**
+     * Returns the base URL of the stub, to be used as {@code productservice.catalog.url}.
+     *
+     * @return The base URL.
+     */
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Serves the given catalog, with no single products, up and with the request count at zero.
+     *
+     * @param catalog The JSON array returned by {@code GET /products}.
+     */
+    public void reset(String catalog) {
+        this.catalog = catalog;
+        products.clear();
+        down = false;
+        requests.set(0);
+    }
+
+    /**
+     * Replaces the catalog returned by {@code GET /products}.
+     *
+     * @param catalog The JSON array of products.
+     */
+    public void setCatalog(String catalog) {
+        this.catalog = catalog;
+    }
+
+    /**
+     * Serves a product by ID without adding it to the catalog, like a product added upstream since
+     * the last catalog refresh.
+     *
+     * @param id The ID of the product.
+     * @param product The JSON object returned by {@code GET /products/{id}}.
+     */
+    public void addProduct(long id, String product) {
+        products.put(String.valueOf(id), product);
+    }
+
+    /**
+     * Makes every request fail with 503 Service Unavailable, or serve normally again.
+     *
+     * @param down true to fail the requests.
+     */
+    public void setDown(boolean down) {
+        this.down = down;
+    }
+
+    /**
+     * Sets the request count back to zero.
+     */
+    public void clearRequests() {
+        requests.set(0);
+    }
+
+    /**
+     * Returns the number of requests received since the last {@link #reset} or {@link #clearRequests}.
+     *
+     * @return The request count.
+     */
+    public int requests() {
+        return requests.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        String path = exchange.getRequestURI().getPath();
+        String json = path.equals("/products") ? catalog : products.get(path.substring("/products/".length()));
+        int status = down ? 503 : (json != null) ? 200 : 404;
+        if (status == 200) {
+            byte[] body = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } else {
+            exchange.sendResponseHeaders(status, -1);
+        }
+        exchange.close();
+    }
+}
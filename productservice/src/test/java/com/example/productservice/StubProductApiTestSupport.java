@@ -0,0 +1,25 @@
+package com.example.productservice;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Base class of the tests that run the application against the {@link StubProductApi}.
+ * <p>
+ * The scheduled catalog refresh is pushed out of the way, so tests refresh the snapshot themselves.
+ * Subclasses that keep this configuration share one cached application context.
+ * </p>
+ */
+@SpringBootTest(properties = "productservice.catalog.initial-delay=PT1H")
+@AutoConfigureMockMvc
+public abstract class StubProductApiTestSupport {
+
+    protected static final StubProductApi upstream = StubProductApi.INSTANCE;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("productservice.catalog.url", upstream::url);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.productservice.controller;
+
+import com.example.productservice.StubProductApi;
+import com.example.productservice.StubProductApiTestSupport;
+import com.example.productservice.service.CatalogSnapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests for the conditional reads of the catalog endpoints, against the {@link StubProductApi}.
+ */
+class ProductCachingTests extends StubProductApiTestSupport {
+
+    private static final String CATALOG_V1 = "[{\"id\":1,\"title\":\"Backpack\",\"price\":109.95,\"category\":\"bags\"}]";
+    private static final String CATALOG_V2 = "[{\"id\":1,\"title\":\"Backpack\",\"price\":99.95,\"category\":\"bags\"}]";
+
+    @Autowired
+    private CatalogSnapshot catalogSnapshot;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void resetUpstream() {
+        upstream.reset(CATALOG_V1);
+        catalogSnapshot.refresh();
+    }
+
+    @Test
+    void currentCopyIsNotModified() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/products"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, public"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn().getResponse();
+        String eTag = response.getHeader(HttpHeaders.ETAG);
+        assertEquals(1, response.getHeaders(HttpHeaders.ETAG).size());
+        assertTrue(eTag.startsWith("W/\""), eTag);
+
+        mockMvc.perform(get("/products").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, public"))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/products/1").header(HttpHeaders.IF_NONE_MATCH, eTag.substring(2)))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/products/search").param("q", "backpack").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void catalogChangeInvalidatesCopy() throws Exception {
+        String eTag = mockMvc.perform(get("/products")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        upstream.setCatalog(CATALOG_V2);
+        catalogSnapshot.refresh();
+
+        String updatedETag = mockMvc.perform(get("/products").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, updatedETag);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.productservice.controller;
+
+import com.example.productservice.StubProductApi;
+import com.example.productservice.StubProductApiTestSupport;
+import com.example.productservice.service.CatalogSnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Tests for the reactive mode, against the {@link StubProductApi}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.profiles.active=reactive", "productservice.catalog.initial-delay=PT1H"})
+class ReactiveProductControllerTests extends StubProductApiTestSupport {
+
+    private static final String CATALOG = "[{\"id\":1,\"title\":\"Backpack\",\"price\":109.95,\"category\":\"bags\"},"
+            + "{\"id\":2,\"title\":\"T-Shirt\",\"price\":22.3,\"category\":\"clothing\"}]";
+
+    @Autowired
+    private ReactiveWebServerApplicationContext context;
+
+    @Autowired
+    private CatalogSnapshot catalogSnapshot;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void servesWithNettyAndLoadsCatalogThroughFeign() {
+        assertInstanceOf(NettyWebServer.class, context.getWebServer());
+        assertFalse(context.getBean(HttpMessageConverters.class).getConverters().isEmpty());
+
+        upstream.reset(CATALOG);
+        catalogSnapshot.refresh();
+        assertNotNull(catalogSnapshot.getLoadedAt());
+
+        webTestClient.get().uri("/products").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[1].title").isEqualTo("T-Shirt");
+    }
+
+    @Test
+    void productsAddedSinceLastRefreshAreFetchedById() {
+        upstream.reset(CATALOG);
+        catalogSnapshot.refresh();
+        upstream.addProduct(3, "{\"id\":3,\"title\":\"Jacket\",\"price\":55.99,\"category\":\"clothing\"}");
+
+        webTestClient.get().uri("/products?ids=3,1,4").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].title").isEqualTo("Jacket")
+                .jsonPath("$[1].id").isEqualTo(1);
+    }
+
+    @Test
+    void currentCopyIsNotModified() {
+        upstream.reset(CATALOG);
+        catalogSnapshot.refresh();
+
+        HttpHeaders headers = webTestClient.get().uri("/products").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "max-age=60, public")
+                .expectBody().returnResult().getResponseHeaders();
+        assertEquals(1, headers.get(HttpHeaders.ETAG).size());
+        String eTag = headers.getETag();
+
+        webTestClient.get().uri("/products").header(HttpHeaders.IF_NONE_MATCH, eTag).exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, eTag)
+                .expectHeader().valueEquals(HttpHeaders.CACHE_CONTROL, "max-age=60, public")
+                .expectBody().isEmpty();
+        webTestClient.get().uri("/products/1").header(HttpHeaders.IF_NONE_MATCH, eTag).exchange()
+                .expectStatus().isNotModified();
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.productservice.service;
+
+import com.example.productservice.dto.ProductDto;
+import com.example.productservice.dto.ProductSearchResultDto;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for {@link CatalogIndex}.
+ */
+class CatalogIndexTests {
+
+    private final CatalogIndex index = new CatalogIndex(List.of(
+            product(1L, "Fjallraven Backpack", "Fits 15 inch laptops", 109.95, "men's clothing"),
+            product(2L, "Mens Casual T-Shirt", "Slim-fitting cotton shirt", 22.3, "men's clothing"),
+            product(3L, "Mens Cotton Jacket", "Great outerwear jacket", 55.99, "men's clothing"),
+            product(4L, "Gold Bracelet", "Solid gold, 15 inch chain", 695.0, "jewelery"),
+            product(5L, "Hard Drive", "Portable laptop storage", null, "electronics")));
+
+    @Test
+    void everyWordOfTheQueryMustMatchTitleOrDescription() {
+        assertEquals(List.of(2L, 3L), ids(index.search("cotton", null, null, null, 0, 10)));
+        assertEquals(List.of(3L), ids(index.search("Cotton JACKET", null, null, null, 0, 10)));
+        assertEquals(List.of(1L, 4L), ids(index.search("15 inch", null, null, null, 0, 10)));
+        assertEquals(List.of(), ids(index.search("cotton gold", null, null, null, 0, 10)));
+    }
+
+    @Test
+    void categoryAndPriceRangeAreCombinedWithTheQuery() {
+        assertEquals(List.of(1L, 2L, 3L), ids(index.search(null, "Men's Clothing", null, null, 0, 10)));
+        assertEquals(List.of(2L, 3L), ids(index.search(null, "men's clothing", null, 100.0, 0, 10)));
+        assertEquals(List.of(3L), ids(index.search(null, null, 55.99, 109.0, 0, 10)));
+        assertEquals(List.of(1L), ids(index.search("inch", null, 100.0, 200.0, 0, 10)));
+        assertEquals(List.of(), ids(index.search(null, null, 200.0, 100.0, 0, 10)));
+    }
+
+    @Test
+    void resultsArePagedWithTheTotalCount() {
+        ProductSearchResultDto all = index.search(null, null, null, null, 0, 10);
+        ProductSearchResultDto page = index.search(null, null, null, null, 3, 2);
+        ProductSearchResultDto beyond = index.search("cotton", null, null, null, 5, 2);
+
+        assertEquals(5, all.getTotal());
+        assertEquals(List.of(4L, 5L), ids(page));
+        assertEquals(5, page.getTotal());
+        assertEquals(List.of(), ids(beyond));
+        assertEquals(2, beyond.getTotal());
+    }
+
+    private static List<Long> ids(ProductSearchResultDto result) {
+        return result.getProducts().stream().map(ProductDto::getId).toList();
+    }
+
+    private static ProductDto product(Long id, String title, String description, Double price, String category) {
+        ProductDto product = new ProductDto();
+        product.setId(id);
+        product.setTitle(title);
+        product.setDescription(description);
+        product.setPrice(price);
+        product.setCategory(category);
+        return product;
+    }
+}
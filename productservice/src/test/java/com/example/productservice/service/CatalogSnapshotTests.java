@@ -0,0 +1,90 @@
+package com.example.productservice.service;
+
+import com.example.productservice.StubProductApi;
+import com.example.productservice.StubProductApiTestSupport;
+import com.example.productservice.dto.ProductDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Tests for {@link CatalogSnapshot} against the {@link StubProductApi}.
+ */
+class CatalogSnapshotTests extends StubProductApiTestSupport {
+
+    private static final String CATALOG_V1 = "[{\"id\":1,\"title\":\"Backpack\",\"price\":109.95,\"category\":\"bags\"},"
+            + "{\"id\":2,\"title\":\"T-Shirt\",\"price\":22.3,\"category\":\"clothing\"}]";
+    private static final String CATALOG_V2 = "[{\"id\":1,\"title\":\"Backpack\",\"price\":99.95,\"category\":\"bags\"}]";
+
+    @Autowired
+    private CatalogSnapshot catalogSnapshot;
+
+    @Autowired
+    private ProductService productService;
+
+    @BeforeEach
+    void resetUpstream() {
+        upstream.reset(CATALOG_V1);
+        catalogSnapshot.refresh();
+        upstream.clearRequests();
+    }
+
+    @Test
+    void readsAreServedFromSnapshot() {
+        List<ProductDto> products = productService.getAllProducts();
+        ProductDto product = productService.getProduct(2L);
+        List<ProductDto> byIds = productService.getProductsByIds(List.of(1L, 2L));
+
+        assertEquals(2, products.size());
+        assertEquals("T-Shirt", product.getTitle());
+        assertEquals(2, byIds.size());
+        assertEquals(0, upstream.requests());
+    }
+
+    @Test
+    void productsAddedSinceLastRefreshAreFetchedById() {
+        upstream.addProduct(3, "{\"id\":3,\"title\":\"Jacket\",\"price\":55.99,\"category\":\"clothing\"}");
+
+        List<ProductDto> byIds = productService.getProductsByIds(List.of(3L, 1L, 4L));
+
+        assertEquals(List.of(3L, 1L), byIds.stream().map(ProductDto::getId).toList());
+        assertEquals("Jacket", byIds.get(0).getTitle());
+        assertEquals(2, upstream.requests());
+    }
+
+    @Test
+    void refreshPicksUpUpstreamChanges() {
+        upstream.setCatalog(CATALOG_V2);
+        catalogSnapshot.refresh();
+
+        assertEquals(1, productService.getAllProducts().size());
+        assertEquals(99.95, productService.getProduct(1L).getPrice());
+    }
+
+    @Test
+    void versionChangesOnlyWithCatalogContents() {
+        String version = productService.getCatalogVersion();
+        catalogSnapshot.refresh();
+        assertEquals(version, productService.getCatalogVersion());
+
+        upstream.setCatalog(CATALOG_V2);
+        catalogSnapshot.refresh();
+        assertNotEquals(version, productService.getCatalogVersion());
+    }
+
+    @Test
+    void staleSnapshotIsServedWhileUpstreamIsDown() {
+        upstream.setDown(true);
+        catalogSnapshot.refresh();
+
+        assertEquals(2, productService.getAllProducts().size());
+        assertEquals(109.95, productService.getProduct(1L).getPrice());
+        assertNotNull(catalogSnapshot.getLoadedAt());
+    }
+}